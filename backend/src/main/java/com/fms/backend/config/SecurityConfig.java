@@ -2,10 +2,11 @@ package com.fms.backend.config;
 
 import com.fms.backend.exceptions.filter.CustomAccessDeniedHandler;
 import com.fms.backend.exceptions.filter.CustomAuthenticationEntryPoint;
-import com.fms.backend.exceptions.filter.JwtExceptionFilter;
+import com.fms.backend.exceptions.filter.JwtAuthenticationEntryPoint;
+import com.fms.backend.monitoring.jfr.RecordingBCryptPasswordEncoder;
+import com.fms.backend.services.auth.CachingJwtDecoder;
 import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
 import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -17,24 +18,25 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 import org.springframework.security.web.SecurityFilterChain;
-import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.security.interfaces.RSAPrivateKey;
-import java.security.interfaces.RSAPublicKey;
+import java.security.PrivateKey;
+import java.security.PublicKey;
 import java.util.Arrays;
 
 import static com.fms.backend.utils.KeyUtils.getPrivateKeyFromString;
 import static com.fms.backend.utils.KeyUtils.getPublicKeyFromString;
+import static com.fms.backend.utils.KeyUtils.keyAlgorithmFor;
+import static com.fms.backend.utils.KeyUtils.toJwtDecoder;
+import static com.fms.backend.utils.KeyUtils.toSigningJwk;
 
 @Configuration
 @EnableWebSecurity
@@ -43,6 +45,7 @@ public class SecurityConfig {
 
     private final CustomAuthenticationEntryPoint authenticationEntryPoint;
     private final CustomAccessDeniedHandler accessDeniedHandler;
+    private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
 
     @Value("${jwt.private.key}")
     private String privateKeyPath;
@@ -50,24 +53,40 @@ public class SecurityConfig {
     @Value("${jwt.public.key}")
     private String publicKeyPath;
 
+    @Value("${jwt.signing-algorithm}")
+    private SignatureAlgorithm signingAlgorithm;
+
+    @Value("${jwt.cache.max-entries}")
+    private long jwtCacheMaxEntries;
+
     @Value("${app.cors.allowed-origins}")
     private String allowedOrigins;
 
-    public SecurityConfig(CustomAuthenticationEntryPoint authenticationEntryPoint, CustomAccessDeniedHandler accessDeniedHandler) {
+    @Value("${management.server.port}")
+    private int managementPort;
+
+    public SecurityConfig(CustomAuthenticationEntryPoint authenticationEntryPoint, CustomAccessDeniedHandler accessDeniedHandler, JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint) {
         this.authenticationEntryPoint = authenticationEntryPoint;
         this.accessDeniedHandler = accessDeniedHandler;
+        this.jwtAuthenticationEntryPoint = jwtAuthenticationEntryPoint;
     }
 
     @Bean
-    public RSAPublicKey publicKey() throws Exception {
+    public PublicKey publicKey() throws Exception {
         String key = Files.readString(Paths.get(publicKeyPath));
-        return (RSAPublicKey) getPublicKeyFromString(key);
+        return getPublicKeyFromString(key, keyAlgorithmFor(signingAlgorithm));
     }
 
     @Bean
-    public RSAPrivateKey privateKey() throws Exception {
+    public PrivateKey privateKey() throws Exception {
         String key = Files.readString(Paths.get(privateKeyPath));
-        return (RSAPrivateKey) getPrivateKeyFromString(key);
+        return getPrivateKeyFromString(key, keyAlgorithmFor(signingAlgorithm));
+    }
+
+    // RS256 (padrão) ou ES256, conforme jwt.signing-algorithm; ES256 exige um par de chaves EC P-256.
+    @Bean
+    public JWK signingKey() throws Exception {
+        return toSigningJwk(publicKey(), privateKey(), signingAlgorithm);
     }
 
     @Bean
@@ -80,6 +99,8 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, "/auth/login").permitAll()
                         .requestMatchers(HttpMethod.POST, "/auth/refresh").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/users").permitAll()
+                        // Health check e scrape do Prometheus pela porta de gerenciamento, sem token.
+                        .requestMatchers(request -> request.getLocalPort() == managementPort).permitAll()
                         .anyRequest().authenticated()
                 )
                 .exceptionHandling(e -> e
@@ -88,26 +109,27 @@ public class SecurityConfig {
                 )
                 .oauth2ResourceServer(oauth2 -> oauth2
                         .jwt(Customizer.withDefaults())
+                        .authenticationEntryPoint(jwtAuthenticationEntryPoint)
                 )
-                .addFilterBefore(new JwtExceptionFilter(jwtDecoder()), UsernamePasswordAuthenticationFilter.class)
                 .build();
 
     }
 
+    // Tokens já verificados são reaproveitados até o exp; jwt.cache.max-entries = 0 desativa o cache.
     @Bean
-    public JwtDecoder jwtDecoder() throws Exception {
-        return NimbusJwtDecoder.withPublicKey(publicKey()).build();
+    public CachingJwtDecoder jwtDecoder() throws Exception {
+        return new CachingJwtDecoder(toJwtDecoder(signingKey(), signingAlgorithm), jwtCacheMaxEntries);
     }
 
+    // Emite eventos JFR (PasswordHashEvent) a cada hash gerado ou conferido.
     @Bean
     public BCryptPasswordEncoder bCryptPasswordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new RecordingBCryptPasswordEncoder();
     }
 
     @Bean
     public JwtEncoder jwtEncoder() throws Exception {
-        JWK jwk = new RSAKey.Builder(publicKey()).privateKey(privateKey()).build();
-        var jwks = new ImmutableJWKSet<>(new JWKSet(jwk));
+        var jwks = new ImmutableJWKSet<>(new JWKSet(signingKey()));
         return new NimbusJwtEncoder(jwks);
     }
 
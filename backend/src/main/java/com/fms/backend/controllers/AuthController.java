@@ -1,5 +1,6 @@
 package com.fms.backend.controllers;
 
+import com.fms.backend.dto.CacheStatsDTO;
 import com.fms.backend.dto.auth.AuthServiceResponseDTO;
 import com.fms.backend.dto.auth.LoginRequestDTO;
 import com.fms.backend.dto.auth.LoginResponseDTO;
@@ -9,6 +10,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -43,6 +45,12 @@ public class AuthController {
         ));
     }
     
+    @GetMapping("/cache")
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    public ResponseEntity<CacheStatsDTO> getTokenCacheStats() {
+        return ResponseEntity.ok(authService.getTokenCacheStats());
+    }
+
     @PostMapping("/refresh")
     public ResponseEntity<LoginResponseDTO> updateRefreshToken(
             @CookieValue(name = "refresh_token", required = false) String refreshTokenFromCookie,
@@ -1,13 +1,17 @@
 package com.fms.backend.controllers;
 
+import com.fms.backend.dto.CacheStatsDTO;
+import com.fms.backend.dto.CursorPageDTO;
 import com.fms.backend.dto.ProductRequestDTO;
 import com.fms.backend.dto.ProductResponseDTO;
 import com.fms.backend.services.ProductService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.net.URI;
 
 @RestController
@@ -35,6 +39,33 @@ public class ProductController {
         return ResponseEntity.ok().body(productService.findAll(page, size));
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageDTO<ProductResponseDTO>> scroll(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "10") int size
+    ){
+        return ResponseEntity.ok().body(productService.scroll(after, size));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<Page<ProductResponseDTO>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(defaultValue = "false") boolean inStock,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size
+    ){
+        return ResponseEntity.ok().body(productService.search(q, categoryId, minPrice, maxPrice, inStock, page, size));
+    }
+
+    @GetMapping("/cache")
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    public ResponseEntity<CacheStatsDTO> getCacheStats() {
+        return ResponseEntity.ok(productService.getCacheStats());
+    }
+
     @PatchMapping("/{id}")
     public ResponseEntity<ProductResponseDTO> patchProduct(@PathVariable Long id, @Valid @RequestBody ProductRequestDTO dto) {
         ProductResponseDTO updatedProduct = productService.patch(id, dto);
@@ -1,24 +1,41 @@
 package com.fms.backend.controllers;
 
+import com.fms.backend.dto.CacheStatsDTO;
+import com.fms.backend.dto.CursorPageDTO;
 import com.fms.backend.dto.DashboardDTO;
+import com.fms.backend.dto.SaleImportResponseDTO;
 import com.fms.backend.dto.SaleRequestDTO;
 import com.fms.backend.dto.SaleResponseDTO;
+import com.fms.backend.models.enums.ClientMatchMode;
+import com.fms.backend.models.enums.SaleChannel;
+import com.fms.backend.models.enums.TimeGranularity;
+import com.fms.backend.services.DashboardService;
+import com.fms.backend.services.SaleImportService;
 import com.fms.backend.services.SaleService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.time.Instant;
 
 @RestController
 @RequestMapping("/api/sale")
 public class SaleController {
 
     private final SaleService saleService;
+    private final SaleImportService saleImportService;
+    private final DashboardService dashboardService;
 
-    public SaleController(SaleService saleService) {
+    public SaleController(SaleService saleService, SaleImportService saleImportService, DashboardService dashboardService) {
         this.saleService = saleService;
+        this.saleImportService = saleImportService;
+        this.dashboardService = dashboardService;
     }
 
     @PostMapping
@@ -28,14 +45,32 @@ public class SaleController {
         return ResponseEntity.created(location).body(response);
     }
 
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<SaleImportResponseDTO> importSales(InputStream body) throws IOException {
+        return ResponseEntity.ok().body(saleImportService.importSales(body));
+    }
+
     @GetMapping
     public ResponseEntity<Page<SaleResponseDTO>> findAll(
             @RequestParam(required = false) Long categoryId,
             @RequestParam(required = false) String clientName,
+            @RequestParam(defaultValue = "EXACT") ClientMatchMode clientMatch,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size
     ){
-        return ResponseEntity.ok().body(saleService.findAll(categoryId, clientName, page, size));
+        return ResponseEntity.ok().body(saleService.findAll(categoryId, clientName, clientMatch, page, size));
+    }
+
+
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageDTO<SaleResponseDTO>> scroll(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) String clientName,
+            @RequestParam(defaultValue = "EXACT") ClientMatchMode clientMatch,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "10") int size
+    ){
+        return ResponseEntity.ok().body(saleService.scroll(categoryId, clientName, clientMatch, after, size));
     }
 
 
@@ -57,9 +92,20 @@ public class SaleController {
     }
 
     @GetMapping("/dashboard")
-    public ResponseEntity<DashboardDTO> getDashboardData() {
-        DashboardDTO data = saleService.getDashboardData();
+    public ResponseEntity<DashboardDTO> getDashboardData(
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) SaleChannel channel,
+            @RequestParam(defaultValue = "MONTH") TimeGranularity granularity
+    ) {
+        DashboardDTO data = dashboardService.getDashboardData(from, to, channel, granularity);
         return ResponseEntity.ok(data);
     }
 
+    @GetMapping("/dashboard/cache")
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    public ResponseEntity<CacheStatsDTO> getDashboardCacheStats() {
+        return ResponseEntity.ok(dashboardService.getCacheStats());
+    }
+
 }
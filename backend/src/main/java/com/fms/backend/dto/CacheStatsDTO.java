@@ -0,0 +1,18 @@
+package com.fms.backend.dto;
+
+/**
+ * Estatísticas de um cache em memória. {@code invalidations} conta descartes provocados por alterações
+ * confirmadas no banco; {@code evictions}, remoções por tamanho máximo ou expiração.
+ */
+public record CacheStatsDTO(
+        long hits,
+        long misses,
+        long invalidations,
+        long evictions,
+        double hitRate
+) {
+    public static CacheStatsDTO of(long hits, long misses, long invalidations, long evictions) {
+        long requests = hits + misses;
+        return new CacheStatsDTO(hits, misses, invalidations, evictions, requests == 0 ? 0.0 : (double) hits / requests);
+    }
+}
@@ -0,0 +1,17 @@
+package com.fms.backend.dto;
+
+import java.util.List;
+
+/**
+ * Página de uma listagem por cursor (keyset). {@code nextCursor} é o valor a enviar em {@code after}
+ * para buscar a próxima página; é nulo quando não há mais registros. Não inclui contagem total.
+ */
+public record CursorPageDTO<T>(
+        List<T> content,
+        Long nextCursor,
+        boolean hasNext
+) {
+
+    // Tamanho máximo de página; pedidos maiores são reduzidos a ele.
+    public static final int MAX_SIZE = 100;
+}
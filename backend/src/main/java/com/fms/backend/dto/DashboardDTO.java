@@ -1,6 +1,7 @@
 package com.fms.backend.dto;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -16,6 +17,8 @@ public class DashboardDTO {
 
     private List<MonthlyRevenueData> revenueByMonth;
 
+    private List<PeriodRevenueData> revenueByPeriod;
+
     public DashboardDTO() {
     }
 
@@ -66,6 +69,43 @@ public class DashboardDTO {
         this.revenueByMonth = revenueByMonth;
     }
 
+    public List<PeriodRevenueData> getRevenueByPeriod() {
+        return revenueByPeriod;
+    }
+
+    public void setRevenueByPeriod(List<PeriodRevenueData> revenueByPeriod) {
+        this.revenueByPeriod = revenueByPeriod;
+    }
+
+    public static class PeriodRevenueData {
+        private LocalDate periodStart;
+        private BigDecimal revenue;
+
+        public PeriodRevenueData() {
+        }
+
+        public PeriodRevenueData(LocalDate periodStart, BigDecimal revenue) {
+            this.periodStart = periodStart;
+            this.revenue = revenue;
+        }
+
+        public LocalDate getPeriodStart() {
+            return periodStart;
+        }
+
+        public void setPeriodStart(LocalDate periodStart) {
+            this.periodStart = periodStart;
+        }
+
+        public BigDecimal getRevenue() {
+            return revenue;
+        }
+
+        public void setRevenue(BigDecimal revenue) {
+            this.revenue = revenue;
+        }
+    }
+
     public static class MonthlyRevenueData {
         private Integer year;
         private Integer month;
@@ -0,0 +1,17 @@
+package com.fms.backend.dto;
+
+import com.fms.backend.models.enums.SaleChannel;
+import com.fms.backend.models.enums.TimeGranularity;
+
+import java.time.LocalDate;
+
+/**
+ * Filtros do dashboard. Os agregados são diários (UTC), então o intervalo é aplicado por dia, inclusive nas duas pontas.
+ */
+public record DashboardFilterDTO(
+        LocalDate fromDay,
+        LocalDate toDay,
+        SaleChannel channel,
+        TimeGranularity granularity
+) {
+}
@@ -0,0 +1,7 @@
+package com.fms.backend.dto;
+
+public record SaleImportErrorDTO(
+        long row,
+        String message
+) {
+}
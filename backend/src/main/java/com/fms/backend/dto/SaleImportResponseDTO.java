@@ -0,0 +1,10 @@
+package com.fms.backend.dto;
+
+import java.util.List;
+
+public record SaleImportResponseDTO(
+        long imported,
+        long failed,
+        List<SaleImportErrorDTO> errors
+) {
+}
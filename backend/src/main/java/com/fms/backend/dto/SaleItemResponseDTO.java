@@ -5,6 +5,7 @@ import java.math.BigDecimal;
 public record SaleItemResponseDTO(
         Long productId,
         String name,
+        String categoryName,
         Integer quantity,
         BigDecimal price
 ) {
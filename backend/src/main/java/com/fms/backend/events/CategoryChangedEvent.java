@@ -0,0 +1,9 @@
+package com.fms.backend.events;
+
+/**
+ * Publicado quando uma categoria é criada, renomeada ou removida.
+ */
+public record CategoryChangedEvent(
+        Long categoryId
+) {
+}
@@ -0,0 +1,20 @@
+package com.fms.backend.events;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Publicado quando produtos são criados, alterados, removidos ou têm o estoque modificado.
+ * Uma lista vazia indica que todo o catálogo deve ser considerado alterado (ex.: categoria renomeada).
+ */
+public record ProductChangedEvent(
+        Collection<Long> productIds
+) {
+    public static ProductChangedEvent of(Long productId) {
+        return new ProductChangedEvent(List.of(productId));
+    }
+
+    public static ProductChangedEvent catalog() {
+        return new ProductChangedEvent(List.of());
+    }
+}
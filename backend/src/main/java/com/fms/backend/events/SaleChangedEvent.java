@@ -0,0 +1,10 @@
+package com.fms.backend.events;
+
+/**
+ * Publicado quando vendas são registradas, importadas, alteradas ou removidas.
+ * Os ouvintes que dependem do commit devem usar {@code @TransactionalEventListener}.
+ */
+public record SaleChangedEvent(
+        int affectedSales
+) {
+}
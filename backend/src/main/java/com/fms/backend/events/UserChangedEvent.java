@@ -0,0 +1,11 @@
+package com.fms.backend.events;
+
+import java.util.UUID;
+
+/**
+ * Publicado quando os dados de um usuário que entram no access token (e-mail, papéis) podem ter mudado.
+ */
+public record UserChangedEvent(
+        UUID userId
+) {
+}
@@ -0,0 +1,51 @@
+package com.fms.backend.exceptions.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fms.backend.exceptions.ExceptionResponse;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * Resposta JSON para bearer tokens rejeitados pelo resource server (malformados, expirados ou com assinatura inválida).
+ * O token é decodificado uma única vez, pelo BearerTokenAuthenticationFilter; o Jwt resultante fica no SecurityContext.
+ */
+@Component
+public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
+
+    @Override
+    public void commence(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            AuthenticationException authException
+    ) throws IOException, ServletException {
+
+        String message = authException.getCause() instanceof JwtException jwtException
+                ? "Invalid token: " + jwtException.getMessage()
+                : authException.getMessage();
+
+        handleJwtError(response, request, message);
+    }
+
+    private void handleJwtError(HttpServletResponse response, HttpServletRequest request, String message)
+            throws IOException {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType("application/json");
+
+        ExceptionResponse errorResponse = new ExceptionResponse(
+                new Date(),
+                message,
+                request.getRequestURI()
+        );
+
+        String json = new ObjectMapper().writeValueAsString(errorResponse);
+        response.getWriter().write(json);
+    }
+}
@@ -0,0 +1,23 @@
+package com.fms.backend.mappers;
+
+import com.fms.backend.services.CategoryService;
+import org.mapstruct.Named;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolve o nome da categoria pelo dicionário em memória, sem inicializar a associação lazy.
+ */
+@Component
+public class CategoryNameMapper {
+
+    private final CategoryService categoryService;
+
+    public CategoryNameMapper(CategoryService categoryService) {
+        this.categoryService = categoryService;
+    }
+
+    @Named("categoryName")
+    public String toCategoryName(Long categoryId) {
+        return categoryService.findNameById(categoryId);
+    }
+}
@@ -7,10 +7,10 @@ import org.mapstruct.*;
 
 import java.util.List;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = CategoryNameMapper.class)
 public interface ProductMapper {
     @Mapping(source = "category.id", target = "categoryId")
-    @Mapping(source = "category.name", target = "categoryName")
+    @Mapping(source = "category.id", target = "categoryName", qualifiedByName = "categoryName")
     ProductResponseDTO toDTO(Product product);
 
     @Mapping(target = "category", ignore = true)
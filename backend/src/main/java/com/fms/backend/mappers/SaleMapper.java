@@ -1,5 +1,6 @@
 package com.fms.backend.mappers;
 
+import com.fms.backend.dto.SaleItemRequestDTO;
 import com.fms.backend.dto.SaleItemResponseDTO;
 import com.fms.backend.dto.SaleRequestDTO;
 import com.fms.backend.dto.SaleResponseDTO;
@@ -9,7 +10,7 @@ import org.mapstruct.*;
 
 import java.util.List;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = CategoryNameMapper.class)
 public interface SaleMapper {
     SaleResponseDTO toDTO(Sale sale);
     Sale toEntity(SaleRequestDTO saleDTO);
@@ -17,9 +18,15 @@ public interface SaleMapper {
 
     @Mapping(source = "product.id", target = "productId")
     @Mapping(source = "product.name", target = "name")
+    @Mapping(source = "product.category.id", target = "categoryName", qualifiedByName = "categoryName")
     @Mapping(source = "unitAtPrice", target = "price")
     SaleItemResponseDTO toItemResponseDTO(SaleItem saleItem);
 
+    // A categoria do item é a do produto no momento da venda, gravada por SaleService.buildSale.
+    @Mapping(target = "categoryId", ignore = true)
+    SaleItem toItemEntity(SaleItemRequestDTO itemDTO);
+
+    @Mapping(target = "items", ignore = true)
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     void updateEntityFromDto(SaleRequestDTO dto, @MappingTarget Sale entity);
 
@@ -16,7 +16,8 @@ public class Sale implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tb_sales_seq")
+    @SequenceGenerator(name = "tb_sales_seq", sequenceName = "tb_sales_seq", allocationSize = 50)
     @Column(name = "sale_id")
     private Long id;
 
@@ -0,0 +1,54 @@
+package com.fms.backend.models;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+@Entity
+@Table(name = "tb_sales_daily_category")
+public class SaleDailyCategory implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @EmbeddedId
+    private SaleDailyCategoryId id;
+
+    @Column(nullable = false)
+    private Long itemsSold;
+
+    public SaleDailyCategory() {
+    }
+
+    public SaleDailyCategory(SaleDailyCategoryId id, Long itemsSold) {
+        this.id = id;
+        this.itemsSold = itemsSold;
+    }
+
+    public SaleDailyCategoryId getId() {
+        return id;
+    }
+
+    public void setId(SaleDailyCategoryId id) {
+        this.id = id;
+    }
+
+    public Long getItemsSold() {
+        return itemsSold;
+    }
+
+    public void setItemsSold(Long itemsSold) {
+        this.itemsSold = itemsSold;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof SaleDailyCategory that)) return false;
+        return Objects.equals(getId(), that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getId());
+    }
+}
@@ -0,0 +1,70 @@
+package com.fms.backend.models;
+
+import com.fms.backend.models.enums.SaleChannel;
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Embeddable
+public class SaleDailyCategoryId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Column(nullable = false)
+    private LocalDate saleDay;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private SaleChannel saleChannel;
+
+    @Column(nullable = false)
+    private Long categoryId;
+
+    public SaleDailyCategoryId() {
+    }
+
+    public SaleDailyCategoryId(LocalDate saleDay, SaleChannel saleChannel, Long categoryId) {
+        this.saleDay = saleDay;
+        this.saleChannel = saleChannel;
+        this.categoryId = categoryId;
+    }
+
+    public LocalDate getSaleDay() {
+        return saleDay;
+    }
+
+    public void setSaleDay(LocalDate saleDay) {
+        this.saleDay = saleDay;
+    }
+
+    public SaleChannel getSaleChannel() {
+        return saleChannel;
+    }
+
+    public void setSaleChannel(SaleChannel saleChannel) {
+        this.saleChannel = saleChannel;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof SaleDailyCategoryId that)) return false;
+        return Objects.equals(getSaleDay(), that.getSaleDay())
+                && getSaleChannel() == that.getSaleChannel()
+                && Objects.equals(getCategoryId(), that.getCategoryId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getSaleDay(), getSaleChannel(), getCategoryId());
+    }
+}
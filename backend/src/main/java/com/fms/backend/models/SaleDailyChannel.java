@@ -0,0 +1,67 @@
+package com.fms.backend.models;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+@Entity
+@Table(name = "tb_sales_daily_channel")
+public class SaleDailyChannel implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @EmbeddedId
+    private SaleDailyChannelId id;
+
+    @Column(nullable = false)
+    private Long salesCount;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    public SaleDailyChannel() {
+    }
+
+    public SaleDailyChannel(SaleDailyChannelId id, Long salesCount, BigDecimal revenue) {
+        this.id = id;
+        this.salesCount = salesCount;
+        this.revenue = revenue;
+    }
+
+    public SaleDailyChannelId getId() {
+        return id;
+    }
+
+    public void setId(SaleDailyChannelId id) {
+        this.id = id;
+    }
+
+    public Long getSalesCount() {
+        return salesCount;
+    }
+
+    public void setSalesCount(Long salesCount) {
+        this.salesCount = salesCount;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof SaleDailyChannel that)) return false;
+        return Objects.equals(getId(), that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getId());
+    }
+}
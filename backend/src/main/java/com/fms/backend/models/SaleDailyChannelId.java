@@ -0,0 +1,56 @@
+package com.fms.backend.models;
+
+import com.fms.backend.models.enums.SaleChannel;
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Embeddable
+public class SaleDailyChannelId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Column(nullable = false)
+    private LocalDate saleDay;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private SaleChannel saleChannel;
+
+    public SaleDailyChannelId() {
+    }
+
+    public SaleDailyChannelId(LocalDate saleDay, SaleChannel saleChannel) {
+        this.saleDay = saleDay;
+        this.saleChannel = saleChannel;
+    }
+
+    public LocalDate getSaleDay() {
+        return saleDay;
+    }
+
+    public void setSaleDay(LocalDate saleDay) {
+        this.saleDay = saleDay;
+    }
+
+    public SaleChannel getSaleChannel() {
+        return saleChannel;
+    }
+
+    public void setSaleChannel(SaleChannel saleChannel) {
+        this.saleChannel = saleChannel;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof SaleDailyChannelId that)) return false;
+        return Objects.equals(getSaleDay(), that.getSaleDay()) && getSaleChannel() == that.getSaleChannel();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getSaleDay(), getSaleChannel());
+    }
+}
@@ -13,7 +13,8 @@ public class SaleItem implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tb_sale_items_seq")
+    @SequenceGenerator(name = "tb_sale_items_seq", sequenceName = "tb_sale_items_seq", allocationSize = 50)
     @Column(name = "sale_item_id")
     private Long id;
 
@@ -25,6 +26,10 @@ public class SaleItem implements Serializable {
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
 
+    // Categoria do produto no momento da venda; o agregado diário por categoria é gravado e estornado com ela.
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
     @Column(nullable = false)
     private Integer quantity;
 
@@ -70,6 +75,14 @@ public class SaleItem implements Serializable {
         this.product = product;
     }
 
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
     public Integer getQuantity() {
         return quantity;
     }
@@ -0,0 +1,7 @@
+package com.fms.backend.models.enums;
+
+public enum ClientMatchMode {
+    EXACT,
+    PREFIX,
+    CONTAINS
+}
@@ -0,0 +1,12 @@
+package com.fms.backend.models.enums;
+
+public enum TimeGranularity {
+    DAY,
+    WEEK,
+    MONTH;
+
+    // Unidade aceita pelo date_trunc do Postgres.
+    public String sqlUnit() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,57 @@
+package com.fms.backend.monitoring;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Statement preparado executado em um escopo de captura ({@link SqlStatementStats#startCapturing()}), com os
+ * parâmetros exatamente como o driver os recebeu, para ser repetido em outro statement (ex.: EXPLAIN nos testes).
+ */
+public final class ExecutedStatement {
+
+    private final String sql;
+    private final List<Binding> bindings;
+
+    ExecutedStatement(String sql, Map<Integer, Binding> bindings) {
+        this.sql = sql;
+        this.bindings = List.copyOf(bindings.values());
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Aplica os mesmos parâmetros, com os mesmos setters e tipos SQL, a um statement com as mesmas posições.
+     */
+    public void bindParameters(PreparedStatement statement) throws SQLException {
+        for (Binding binding : bindings) {
+            binding.apply(statement);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return sql;
+    }
+
+    record Binding(Method setter, Object[] args) {
+
+        void apply(PreparedStatement statement) throws SQLException {
+            try {
+                setter.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof SQLException sqlException) {
+                    throw sqlException;
+                }
+                throw new IllegalStateException("Falha ao repetir o parâmetro com " + setter.getName(), e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Falha ao repetir o parâmetro com " + setter.getName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.fms.backend.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+
+/**
+ * Conta os statements SQL e o tempo de banco de cada requisição, devolve o total no cabeçalho
+ * {@code Server-Timing} e registra um aviso quando o orçamento configurado é ultrapassado.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private static final int REPORTED_FINGERPRINTS = 5;
+
+    private final int maxStatements;
+    private final Duration maxTime;
+
+    private final Logger logger = LoggerFactory.getLogger(SqlBudgetFilter.class.getName());
+
+    public SqlBudgetFilter(@Value("${app.sql-budget.max-statements}") int maxStatements,
+                           @Value("${app.sql-budget.max-time}") Duration maxTime) {
+        this.maxStatements = maxStatements;
+        this.maxTime = maxTime;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatementStats.start();
+        ServerTimingResponse timedResponse = new ServerTimingResponse(response, stats);
+
+        try {
+            filterChain.doFilter(request, timedResponse);
+        } finally {
+            stats.stop();
+            timedResponse.addServerTiming();
+            report(request, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStatementStats stats) {
+        if (stats.getStatementCount() <= maxStatements && stats.getTimeNanos() <= maxTime.toNanos()) {
+            return;
+        }
+
+        logger.warn("SQL budget exceeded on {} {}: {} statements, {} ms of database time. Top statements: {}",
+                request.getMethod(), request.getRequestURI(), stats.getStatementCount(),
+                Math.round(stats.getTimeMillis()), stats.topFingerprints(REPORTED_FINGERPRINTS));
+    }
+
+    /**
+     * Os cabeçalhos precisam ser definidos antes do corpo; o Server-Timing é incluído no primeiro acesso ao corpo,
+     * quando o trabalho de banco da requisição já terminou, sem precisar bufferizar a resposta.
+     */
+    private static class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatementStats stats;
+        private boolean added;
+
+        ServerTimingResponse(HttpServletResponse response, SqlStatementStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        void addServerTiming() {
+            if (!added && !isCommitted()) {
+                added = true;
+                setHeader("Server-Timing", stats.toServerTiming());
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addServerTiming();
+            super.sendRedirect(location);
+        }
+    }
+}
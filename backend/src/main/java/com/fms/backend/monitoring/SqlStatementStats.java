@@ -0,0 +1,157 @@
+package com.fms.backend.monitoring;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Contagem de statements SQL e tempo de banco de um escopo (requisição HTTP ou trecho de teste) na thread atual.
+ * Escopos podem ser aninhados: cada statement é contabilizado no escopo atual e em todos os escopos externos.
+ */
+public final class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    // Limite de SQLs distintos guardados por escopo; o excedente conta apenas no total.
+    private static final int MAX_DISTINCT_STATEMENTS = 100;
+    private static final int MAX_FINGERPRINT_LENGTH = 300;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final SqlStatementStats parent;
+    private final Map<String, Integer> statements = new HashMap<>();
+    // Nulo fora dos escopos de captura.
+    private final List<ExecutedStatement> executedStatements;
+    private int statementCount;
+    private long timeNanos;
+
+    private SqlStatementStats(SqlStatementStats parent, boolean capturing) {
+        this.parent = parent;
+        this.executedStatements = capturing ? new ArrayList<>() : null;
+    }
+
+    /**
+     * Abre um escopo de contagem na thread atual. Deve ser encerrado com {@link #stop()}.
+     */
+    public static SqlStatementStats start() {
+        return open(false);
+    }
+
+    /**
+     * Como {@link #start()}, guardando também cada statement preparado executado com seus parâmetros
+     * ({@link #getExecutedStatements()}). Destinado a testes: a captura não tem limite de tamanho.
+     */
+    public static SqlStatementStats startCapturing() {
+        return open(true);
+    }
+
+    private static SqlStatementStats open(boolean capturing) {
+        SqlStatementStats stats = new SqlStatementStats(CURRENT.get(), capturing);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public void stop() {
+        if (CURRENT.get() != this) {
+            throw new IllegalStateException("Escopos de contagem de SQL encerrados fora de ordem.");
+        }
+
+        if (parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(parent);
+        }
+    }
+
+    static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    static boolean isCapturing() {
+        for (SqlStatementStats stats = CURRENT.get(); stats != null; stats = stats.parent) {
+            if (stats.executedStatements != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static void record(String sql, long elapsedNanos) {
+        for (SqlStatementStats stats = CURRENT.get(); stats != null; stats = stats.parent) {
+            stats.add(sql, elapsedNanos);
+        }
+    }
+
+    static void recordExecution(ExecutedStatement statement) {
+        for (SqlStatementStats stats = CURRENT.get(); stats != null; stats = stats.parent) {
+            if (stats.executedStatements != null) {
+                stats.executedStatements.add(statement);
+            }
+        }
+    }
+
+    private void add(String sql, long elapsedNanos) {
+        statementCount++;
+        timeNanos += elapsedNanos;
+
+        if (statements.size() < MAX_DISTINCT_STATEMENTS || statements.containsKey(sql)) {
+            statements.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getTimeNanos() {
+        return timeNanos;
+    }
+
+    public double getTimeMillis() {
+        return timeNanos / 1_000_000.0;
+    }
+
+    /**
+     * Statements preparados executados, na ordem de execução; vazio fora de um escopo de captura.
+     * Execuções em lote (executeBatch) não entram na lista.
+     */
+    public List<ExecutedStatement> getExecutedStatements() {
+        return executedStatements != null ? List.copyOf(executedStatements) : List.of();
+    }
+
+    /**
+     * SQLs agrupados por forma (literais e listas de parâmetros normalizados), do mais executado ao menos executado.
+     */
+    public List<String> topFingerprints(int limit) {
+        Map<String, Integer> fingerprints = new LinkedHashMap<>();
+        statements.forEach((sql, count) -> fingerprints.merge(fingerprint(sql), count, Integer::sum));
+
+        return fingerprints.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(limit)
+                .map(entry -> entry.getValue() + "x " + entry.getKey())
+                .toList();
+    }
+
+    public String toServerTiming() {
+        return String.format(Locale.ROOT, "db;dur=%.1f;desc=\"%d statements\"", getTimeMillis(), statementCount);
+    }
+
+    static String fingerprint(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = PARAMETER_LIST.matcher(normalized).replaceAll("(?...)");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+
+        return normalized.length() > MAX_FINGERPRINT_LENGTH
+                ? normalized.substring(0, MAX_FINGERPRINT_LENGTH) + "..."
+                : normalized;
+    }
+}
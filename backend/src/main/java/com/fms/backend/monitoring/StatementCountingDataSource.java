@@ -0,0 +1,121 @@
+package com.fms.backend.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Envolve o pool de conexões para medir cada execução de statement (execute, executeQuery, executeUpdate,
+ * executeBatch) no {@link SqlStatementStats} da thread atual. Sem escopo ativo, o custo é uma leitura de ThreadLocal.
+ * Em escopos de captura, guarda também os parâmetros dos statements preparados ({@link ExecutedStatement}).
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    private static final String BATCH = "<batch>";
+
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (isEquals(method)) {
+                        return proxy == args[0];
+                    }
+
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement) {
+                        return wrapStatement(statement, firstStringArgument(args));
+                    }
+                    return result;
+                });
+    }
+
+    private static Statement wrapStatement(Statement statement, String preparedSql) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+
+        // Parâmetros por posição, preenchidos apenas durante uma captura.
+        Map<Integer, ExecutedStatement.Binding> bindings = preparedSql != null ? new TreeMap<>() : null;
+
+        return (Statement) Proxy.newProxyInstance(
+                StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (isEquals(method)) {
+                        return proxy == args[0];
+                    }
+
+                    if (bindings != null && isParameterSetter(method, args) && SqlStatementStats.isCapturing()) {
+                        bindings.put((Integer) args[0], new ExecutedStatement.Binding(method, args.clone()));
+                    } else if (bindings != null && method.getName().equals("clearParameters")) {
+                        bindings.clear();
+                    }
+
+                    if (!method.getName().startsWith("execute") || !SqlStatementStats.isActive()) {
+                        return invoke(statement, method, args);
+                    }
+
+                    String sql = firstStringArgument(args);
+                    if (sql == null) {
+                        sql = preparedSql != null ? preparedSql : BATCH;
+                    }
+
+                    long start = System.nanoTime();
+                    try {
+                        return invoke(statement, method, args);
+                    } finally {
+                        SqlStatementStats.record(sql, System.nanoTime() - start);
+                        if (bindings != null && args == null && !method.getName().equals("executeBatch")
+                                && SqlStatementStats.isCapturing()) {
+                            SqlStatementStats.recordExecution(new ExecutedStatement(preparedSql, bindings));
+                        }
+                    }
+                });
+    }
+
+    // setString(1, ...), setNull(2, Types.BIGINT), setObject(3, ..., ...): índice do parâmetro seguido do valor.
+    private static boolean isParameterSetter(Method method, Object[] args) {
+        return method.getName().startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer;
+    }
+
+    private static boolean isEquals(Method method) {
+        return method.getName().equals("equals") && method.getParameterCount() == 1;
+    }
+
+    private static String firstStringArgument(Object[] args) {
+        return args != null && args.length > 0 && args[0] instanceof String sql ? sql : null;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.fms.backend.monitoring.jfr;
+
+import com.fms.backend.dto.DashboardFilterDTO;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.fms.DashboardComputation")
+@Label("Dashboard Computation")
+@Category({"FMS", "Sales"})
+@Description("Obtenção dos dados do dashboard, pelo snapshot em memória ou pelos agregados no banco")
+@StackTrace(false)
+public final class DashboardComputationEvent extends Event {
+
+    @Label("Granularity")
+    private String granularity;
+
+    @Label("Channel")
+    private String channel;
+
+    @Label("Cache Hit")
+    private boolean cacheHit;
+
+    public void finish(DashboardFilterDTO filter, boolean cacheHit) {
+        end();
+        if (shouldCommit()) {
+            this.granularity = filter.granularity().name();
+            this.channel = filter.channel() != null ? filter.channel().name() : null;
+            this.cacheHit = cacheHit;
+            commit();
+        }
+    }
+}
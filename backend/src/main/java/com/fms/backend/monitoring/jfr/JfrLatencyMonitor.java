@@ -0,0 +1,85 @@
+package com.fms.backend.monitoring.jfr;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Consome os eventos JFR da aplicação dentro do próprio processo (JFR event streaming) e publica a latência de
+ * cada tipo como um timer com percentis calculados sobre uma janela móvel ({@code app.jfr.streaming.window}).
+ * Desativado por padrão; com {@code app.jfr.streaming.enabled=true} mantém uma gravação contínua só desses eventos.
+ */
+@Component
+public class JfrLatencyMonitor {
+
+    private static final List<Class<? extends Event>> EVENT_TYPES = List.of(
+            SaleRegistrationEvent.class,
+            StockDecrementEvent.class,
+            TokenSigningEvent.class,
+            TokenVerificationEvent.class,
+            PasswordHashEvent.class,
+            DashboardComputationEvent.class
+    );
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration window;
+
+    private RecordingStream stream;
+
+    private final Logger logger = LoggerFactory.getLogger(JfrLatencyMonitor.class.getName());
+
+    public JfrLatencyMonitor(MeterRegistry meterRegistry,
+                             @Value("${app.jfr.streaming.enabled}") boolean enabled,
+                             @Value("${app.jfr.streaming.window}") Duration window) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.window = window;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || stream != null) {
+            return;
+        }
+
+        stream = new RecordingStream();
+        stream.setMaxAge(window);
+
+        for (Class<? extends Event> eventType : EVENT_TYPES) {
+            String name = EventType.getEventType(eventType).getName();
+            Timer timer = Timer.builder("fms.jfr.event")
+                    .description("Duração dos eventos JFR da aplicação")
+                    .tag("event", name)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .distributionStatisticExpiry(window)
+                    .register(meterRegistry);
+
+            stream.enable(eventType).withThreshold(Duration.ZERO);
+            stream.onEvent(name, event -> timer.record(event.getDuration()));
+        }
+
+        stream.startAsync();
+        logger.info("JFR event streaming started for {} event types.", EVENT_TYPES.size());
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+}
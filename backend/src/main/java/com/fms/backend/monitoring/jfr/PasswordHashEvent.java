@@ -0,0 +1,31 @@
+package com.fms.backend.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.fms.PasswordHash")
+@Label("Password Hash")
+@Category({"FMS", "Auth"})
+@Description("Geração ou conferência de um hash BCrypt")
+@StackTrace(false)
+public final class PasswordHashEvent extends Event {
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Matched")
+    private boolean matched;
+
+    public void finish(String operation, boolean matched) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.matched = matched;
+            commit();
+        }
+    }
+}
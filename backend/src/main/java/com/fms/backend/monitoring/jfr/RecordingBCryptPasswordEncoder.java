@@ -0,0 +1,29 @@
+package com.fms.backend.monitoring.jfr;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BCryptPasswordEncoder que emite um {@link PasswordHashEvent} a cada hash gerado ou conferido.
+ */
+public class RecordingBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+
+        String encoded = super.encode(rawPassword);
+        event.finish("encode", false);
+        return encoded;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+
+        boolean matched = super.matches(rawPassword, encodedPassword);
+        event.finish("matches", matched);
+        return matched;
+    }
+}
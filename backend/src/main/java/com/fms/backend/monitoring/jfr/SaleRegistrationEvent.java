@@ -0,0 +1,37 @@
+package com.fms.backend.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.math.BigDecimal;
+
+@Name("com.fms.SaleRegistration")
+@Label("Sale Registration")
+@Category({"FMS", "Sales"})
+@Description("Registro de uma venda: reserva de estoque, inserção e atualização dos agregados")
+@StackTrace(false)
+public final class SaleRegistrationEvent extends Event {
+
+    @Label("Sale Id")
+    private long saleId;
+
+    @Label("Item Count")
+    private int itemCount;
+
+    @Label("Total Value")
+    private double totalValue;
+
+    public void finish(long saleId, int itemCount, BigDecimal totalValue) {
+        end();
+        if (shouldCommit()) {
+            this.saleId = saleId;
+            this.itemCount = itemCount;
+            this.totalValue = totalValue.doubleValue();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.fms.backend.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.fms.StockDecrement")
+@Label("Stock Decrement")
+@Category({"FMS", "Products"})
+@Description("UPDATE condicional de estoque de um ou mais produtos")
+@StackTrace(false)
+public final class StockDecrementEvent extends Event {
+
+    @Label("Product Count")
+    private int productCount;
+
+    @Label("Updated Products")
+    private int updatedCount;
+
+    @Label("Succeeded")
+    private boolean succeeded;
+
+    public void finish(int productCount, int updatedCount) {
+        end();
+        if (shouldCommit()) {
+            this.productCount = productCount;
+            this.updatedCount = updatedCount;
+            this.succeeded = productCount == updatedCount;
+            commit();
+        }
+    }
+}
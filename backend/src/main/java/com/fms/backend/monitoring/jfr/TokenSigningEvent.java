@@ -0,0 +1,27 @@
+package com.fms.backend.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.fms.TokenSigning")
+@Label("Token Signing")
+@Category({"FMS", "Auth"})
+@Description("Assinatura de um access token JWT")
+@StackTrace(false)
+public final class TokenSigningEvent extends Event {
+
+    @Label("Algorithm")
+    private String algorithm;
+
+    public void finish(String algorithm) {
+        end();
+        if (shouldCommit()) {
+            this.algorithm = algorithm;
+            commit();
+        }
+    }
+}
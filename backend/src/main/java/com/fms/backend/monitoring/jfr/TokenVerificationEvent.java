@@ -0,0 +1,31 @@
+package com.fms.backend.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.fms.TokenVerification")
+@Label("Token Verification")
+@Category({"FMS", "Auth"})
+@Description("Decodificação de um access token, pelo cache de tokens verificados ou pela verificação da assinatura")
+@StackTrace(false)
+public final class TokenVerificationEvent extends Event {
+
+    @Label("Cached")
+    private boolean cached;
+
+    @Label("Valid")
+    private boolean valid;
+
+    public void finish(boolean cached, boolean valid) {
+        end();
+        if (shouldCommit()) {
+            this.cached = cached;
+            this.valid = valid;
+            commit();
+        }
+    }
+}
@@ -4,7 +4,10 @@ import com.fms.backend.models.Category;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
@@ -12,4 +15,10 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     Page<Category> findAll(Pageable pageable);
 
     Optional<Category> findByName(String name);
+
+    @Query("SELECT c.id, c.name FROM Category c")
+    List<Object[]> findAllNames();
+
+    @Query("SELECT c.name FROM Category c WHERE c.id = :id")
+    Optional<String> findNameById(@Param("id") Long id);
 }
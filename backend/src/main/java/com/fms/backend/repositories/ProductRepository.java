@@ -1,17 +1,69 @@
 package com.fms.backend.repositories;
 
 import com.fms.backend.models.Product;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
-    Optional<Product> findByName(String name);
+    String SEARCH_FILTERS = "AND (CAST(:categoryId AS bigint) IS NULL OR p.category_id = :categoryId) " +
+            "AND (CAST(:minPrice AS numeric) IS NULL OR p.price >= :minPrice) " +
+            "AND (CAST(:maxPrice AS numeric) IS NULL OR p.price <= :maxPrice) " +
+            "AND (:inStock = false OR p.quantity_stock > 0) ";
 
-    Page<Product> findByCategory(String category, Pageable pageable);
+    Optional<Product> findByName(String name);
 
     Page<Product> findAll(Pageable pageable);
+
+    List<Product> findAllByIdIn(Collection<Long> ids);
+
+    // Busca textual (search_vector mantido por trigger, índice GIN) ordenada por relevância.
+    // Devolve apenas os IDs da página; as entidades são carregadas em seguida por findAllByIdIn.
+    @Query(value = "SELECT p.product_id FROM tb_products p, websearch_to_tsquery('portuguese', :query) q " +
+            "WHERE p.search_vector @@ q " + SEARCH_FILTERS +
+            "ORDER BY ts_rank_cd(p.search_vector, q) DESC, p.product_id DESC",
+            countQuery = "SELECT count(*) FROM tb_products p, websearch_to_tsquery('portuguese', :query) q " +
+                    "WHERE p.search_vector @@ q " + SEARCH_FILTERS,
+            nativeQuery = true)
+    Page<Long> searchIds(@Param("query") String query,
+                         @Param("categoryId") Long categoryId,
+                         @Param("minPrice") BigDecimal minPrice,
+                         @Param("maxPrice") BigDecimal maxPrice,
+                         @Param("inStock") boolean inStock,
+                         Pageable pageable);
+
+    // Listagem por cursor: produtos com ID menor que :after em ordem decrescente, sem COUNT.
+    @Query("SELECT p FROM Product p WHERE p.id < :after ORDER BY p.id DESC")
+    List<Product> findBefore(@Param("after") Long after, Limit limit);
+
+    // Decremento atômico no banco: retorna 0 quando não há estoque suficiente (ou o produto não existe).
+    @Modifying
+    @Query("UPDATE Product p SET p.quantityStock = p.quantityStock - :quantity, p.updatedAt = :updatedAt " +
+            "WHERE p.id = :productId AND p.quantityStock >= :quantity")
+    int decrementStock(@Param("productId") Long productId, @Param("quantity") Integer quantity, @Param("updatedAt") Instant updatedAt);
+
+    // Decrementa o estoque de vários produtos em um único UPDATE e devolve os IDs efetivamente alterados.
+    // Linhas sem estoque suficiente não são atualizadas e, portanto, não aparecem no retorno.
+    // Sem @Modifying: o Spring Data só aceita int/void como retorno de consultas modificadoras, e o RETURNING
+    // é lido como resultado de SELECT. O Hibernate faz flush antes da consulta nativa, mas não limpa o contexto:
+    // um Product já carregado na mesma transação mantém quantityStock/updatedAt anteriores ao UPDATE.
+    // Isso é seguro porque os chamadores (ProductService.reserveStock e SaleService.importBatch) não alteram
+    // essas entidades nem leem o estoque depois do decremento; sem alteração, o dirty checking não as regrava.
+    @Query(value = "UPDATE tb_products p " +
+            "SET quantity_stock = p.quantity_stock - r.quantity, updated_at = now() " +
+            "FROM unnest(CAST(:productIds AS bigint[]), CAST(:quantities AS integer[])) AS r(product_id, quantity) " +
+            "WHERE p.product_id = r.product_id AND p.quantity_stock >= r.quantity " +
+            "RETURNING p.product_id", nativeQuery = true)
+    List<Long> decrementStockBatch(@Param("productIds") Long[] productIds, @Param("quantities") Integer[] quantities);
 }
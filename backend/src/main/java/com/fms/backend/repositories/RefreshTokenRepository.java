@@ -3,6 +3,9 @@ package com.fms.backend.repositories;
 import com.fms.backend.models.RefreshToken;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.Optional;
@@ -11,8 +14,32 @@ import java.util.UUID;
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
     Optional<RefreshToken> findByToken(String token);
 
-    void deleteAllByUserId(UUID userId);
+    // Revogação em um único DELETE, sem carregar as entidades.
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.user.id = :userId")
+    int deleteAllByUserId(@Param("userId") UUID userId);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.user.id = :userId AND t.id <> :keepId")
+    int deleteOthersByUserId(@Param("userId") UUID userId, @Param("keepId") Long keepId);
+
+    // Rotação no próprio registro. A condição sobre o hash atual impede que duas requisições
+    // concorrentes rotacionem o mesmo token: a segunda não altera nenhuma linha.
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.token = :newToken, t.tokenHash = :newHash, t.expiryDate = :expiryDate, " +
+            "t.userAgent = :userAgent, t.ip = :ip WHERE t.id = :id AND t.tokenHash = :currentHash")
+    int rotate(@Param("id") Long id,
+               @Param("currentHash") String currentHash,
+               @Param("newToken") String newToken,
+               @Param("newHash") String newHash,
+               @Param("expiryDate") Instant expiryDate,
+               @Param("userAgent") String userAgent,
+               @Param("ip") String ip);
 
+    // Remove no máximo :batchSize tokens expirados por chamada, cada lote na sua própria transação.
     @Modifying
-    int deleteByExpiryDateBefore(Instant expiryDate);
+    @Transactional
+    @Query(value = "DELETE FROM tb_tokens WHERE id IN (" +
+            "SELECT id FROM tb_tokens WHERE expiry_date < :expiryDate LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("expiryDate") Instant expiryDate, @Param("batchSize") int batchSize);
 }
@@ -0,0 +1,35 @@
+package com.fms.backend.repositories;
+
+import com.fms.backend.models.SaleDailyCategory;
+import com.fms.backend.models.SaleDailyCategoryId;
+import com.fms.backend.models.enums.SaleChannel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SaleDailyCategoryRepository extends JpaRepository<SaleDailyCategory, SaleDailyCategoryId> {
+
+    // Soma os deltas (positivos ou negativos) de várias linhas dia x canal x categoria em um único statement.
+    @Modifying
+    @Query(value = "INSERT INTO tb_sales_daily_category (sale_day, sale_channel, category_id, items_sold) " +
+            "SELECT * FROM unnest(CAST(:days AS date[]), CAST(:channels AS varchar[]), " +
+            "CAST(:categoryIds AS bigint[]), CAST(:quantities AS bigint[])) " +
+            "ON CONFLICT (sale_day, sale_channel, category_id) DO UPDATE SET " +
+            "items_sold = tb_sales_daily_category.items_sold + EXCLUDED.items_sold", nativeQuery = true)
+    int upsertDeltas(@Param("days") String[] days,
+                     @Param("channels") String[] channels,
+                     @Param("categoryIds") Long[] categoryIds,
+                     @Param("quantities") Long[] quantities);
+
+    // dashboard (intervalo de dias inclusivo; canal opcional):
+    @Query("SELECT c.name, SUM(r.itemsSold) FROM SaleDailyCategory r JOIN Category c ON c.id = r.id.categoryId " +
+            "WHERE r.id.saleDay BETWEEN :fromDay AND :toDay AND (:channel IS NULL OR r.id.saleChannel = :channel) " +
+            "GROUP BY c.name HAVING SUM(r.itemsSold) > 0")
+    List<Object[]> sumItemsSoldByCategory(@Param("fromDay") LocalDate fromDay,
+                                          @Param("toDay") LocalDate toDay,
+                                          @Param("channel") SaleChannel channel);
+}
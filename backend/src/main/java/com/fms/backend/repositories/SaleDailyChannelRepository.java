@@ -0,0 +1,54 @@
+package com.fms.backend.repositories;
+
+import com.fms.backend.models.SaleDailyChannel;
+import com.fms.backend.models.SaleDailyChannelId;
+import com.fms.backend.models.enums.SaleChannel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SaleDailyChannelRepository extends JpaRepository<SaleDailyChannel, SaleDailyChannelId> {
+
+    // Soma os deltas (positivos ou negativos) de várias linhas dia x canal em um único statement.
+    @Modifying
+    @Query(value = "INSERT INTO tb_sales_daily_channel (sale_day, sale_channel, sales_count, revenue) " +
+            "SELECT * FROM unnest(CAST(:days AS date[]), CAST(:channels AS varchar[]), " +
+            "CAST(:counts AS bigint[]), CAST(:revenues AS numeric[])) " +
+            "ON CONFLICT (sale_day, sale_channel) DO UPDATE SET " +
+            "sales_count = tb_sales_daily_channel.sales_count + EXCLUDED.sales_count, " +
+            "revenue = tb_sales_daily_channel.revenue + EXCLUDED.revenue", nativeQuery = true)
+    int upsertDeltas(@Param("days") String[] days,
+                     @Param("channels") String[] channels,
+                     @Param("counts") Long[] counts,
+                     @Param("revenues") BigDecimal[] revenues);
+
+    // dashboard (intervalo de dias inclusivo; canal opcional):
+    @Query("SELECT r.id.saleChannel, SUM(r.salesCount) FROM SaleDailyChannel r " +
+            "WHERE r.id.saleDay BETWEEN :fromDay AND :toDay AND (:channel IS NULL OR r.id.saleChannel = :channel) " +
+            "GROUP BY r.id.saleChannel HAVING SUM(r.salesCount) > 0")
+    List<Object[]> countSalesByChannel(@Param("fromDay") LocalDate fromDay,
+                                       @Param("toDay") LocalDate toDay,
+                                       @Param("channel") SaleChannel channel);
+
+    @Query("SELECT COALESCE(SUM(r.salesCount), 0), SUM(r.revenue) FROM SaleDailyChannel r " +
+            "WHERE r.id.saleDay BETWEEN :fromDay AND :toDay AND (:channel IS NULL OR r.id.saleChannel = :channel)")
+    List<Object[]> sumTotals(@Param("fromDay") LocalDate fromDay,
+                             @Param("toDay") LocalDate toDay,
+                             @Param("channel") SaleChannel channel);
+
+    // Receita agrupada pelo início de cada período ('day', 'week' ou 'month'), devolvido como yyyy-MM-dd.
+    @Query(value = "SELECT to_char(date_trunc(:unit, CAST(r.sale_day AS timestamp)), 'YYYY-MM-DD'), SUM(r.revenue) " +
+            "FROM tb_sales_daily_channel r " +
+            "WHERE r.sale_day BETWEEN :fromDay AND :toDay " +
+            "AND (CAST(:channel AS varchar) IS NULL OR r.sale_channel = CAST(:channel AS varchar)) " +
+            "GROUP BY 1 HAVING SUM(r.sales_count) > 0 ORDER BY 1", nativeQuery = true)
+    List<Object[]> sumRevenueByPeriod(@Param("unit") String unit,
+                                      @Param("fromDay") LocalDate fromDay,
+                                      @Param("toDay") LocalDate toDay,
+                                      @Param("channel") String channel);
+}
@@ -1,38 +1,69 @@
 package com.fms.backend.repositories;
 
 import com.fms.backend.models.Sale;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface SaleRepository extends JpaRepository<Sale, Long> {
 
-    Page<Sale> findAll(Pageable pageable);
+    String EXISTS_ITEM_IN_CATEGORY = "EXISTS (SELECT 1 FROM SaleItem item JOIN item.product p " +
+            "WHERE item.sale = s AND p.category.id = :categoryId)";
 
-    Page<Sale> findByClient(String name, Pageable pageable);
+    // O filtro em LOWER(s.client) usa o índice idx_sales_client_lower_prefix (V6); a comparação direta mantém o match exato.
+    String CLIENT_EQUALS = "LOWER(s.client) = LOWER(:name) AND s.client = :name";
 
-    @Query("SELECT DISTINCT s FROM Sale s JOIN s.items item JOIN item.product p WHERE p.category.id = :categoryId")
-    Page<Sale> findSalesByProductCategory(@Param("categoryId") Long categoryId, Pageable pageable);
+    String CLIENT_LIKE = "LOWER(s.client) LIKE :pattern ESCAPE '\\'";
 
-    // dashboard:
-    @Query("SELECT s.saleChannel, COUNT(s) FROM Sale s GROUP BY s.saleChannel")
-    List<Object[]> countSalesByChannel();
+    // Listagem em duas fases: primeiro a página de IDs, depois vendas, itens e produtos em um único SELECT.
+    @Query(value = "SELECT s.id FROM Sale s", countQuery = "SELECT COUNT(s) FROM Sale s")
+    Page<Long> findPageIds(Pageable pageable);
 
-    @Query("SELECT p.category.name, SUM(si.quantity) FROM SaleItem si JOIN si.product p GROUP BY p.category.name")
-    List<Object[]> sumItemsSoldByCategory();
+    @Query(value = "SELECT s.id FROM Sale s WHERE " + CLIENT_EQUALS,
+            countQuery = "SELECT COUNT(s) FROM Sale s WHERE " + CLIENT_EQUALS)
+    Page<Long> findPageIdsByClient(@Param("name") String name, Pageable pageable);
 
-    @Query("SELECT SUM(s.totalValue) FROM Sale s")
-    Optional<BigDecimal> sumTotalRevenue();
+    // Busca sem diferenciar maiúsculas/minúsculas; :pattern já vem em minúsculas e com os curingas escapados.
+    @Query(value = "SELECT s.id FROM Sale s WHERE " + CLIENT_LIKE,
+            countQuery = "SELECT COUNT(s) FROM Sale s WHERE " + CLIENT_LIKE)
+    Page<Long> findPageIdsByClientLike(@Param("pattern") String pattern, Pageable pageable);
 
-    @Query("SELECT EXTRACT(YEAR FROM s.saleDate), EXTRACT(MONTH FROM s.saleDate), SUM(s.totalValue) " +
-            "FROM Sale s " +
-            "GROUP BY EXTRACT(YEAR FROM s.saleDate), EXTRACT(MONTH FROM s.saleDate) " +
-            "ORDER BY EXTRACT(YEAR FROM s.saleDate) ASC, EXTRACT(MONTH FROM s.saleDate) ASC")
-    List<Object[]> sumRevenueByMonth();
+    // Semi-join (EXISTS): evita montar e deduplicar o join venda x itens antes de aplicar o LIMIT.
+    @Query(value = "SELECT s.id FROM Sale s WHERE " + EXISTS_ITEM_IN_CATEGORY,
+            countQuery = "SELECT COUNT(s) FROM Sale s WHERE " + EXISTS_ITEM_IN_CATEGORY)
+    Page<Long> findPageIdsByProductCategory(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    // Listagem por cursor: IDs menores que :after em ordem decrescente, sem COUNT.
+    @Query("SELECT s.id FROM Sale s WHERE s.id < :after ORDER BY s.id DESC")
+    List<Long> findIdsBefore(@Param("after") Long after, Limit limit);
+
+    @Query("SELECT s.id FROM Sale s WHERE " + CLIENT_EQUALS + " AND s.id < :after ORDER BY s.id DESC")
+    List<Long> findIdsByClientBefore(@Param("name") String name, @Param("after") Long after, Limit limit);
+
+    @Query("SELECT s.id FROM Sale s WHERE " + CLIENT_LIKE + " AND s.id < :after ORDER BY s.id DESC")
+    List<Long> findIdsByClientLikeBefore(@Param("pattern") String pattern, @Param("after") Long after, Limit limit);
+
+    @Query("SELECT s.id FROM Sale s WHERE " + EXISTS_ITEM_IN_CATEGORY + " AND s.id < :after ORDER BY s.id DESC")
+    List<Long> findIdsByProductCategoryBefore(@Param("categoryId") Long categoryId, @Param("after") Long after, Limit limit);
+
+    @EntityGraph(attributePaths = {"items", "items.product"})
+    @Query("SELECT s FROM Sale s WHERE s.id IN :ids")
+    List<Sale> findAllWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"items", "items.product"})
+    @Query("SELECT s FROM Sale s WHERE s.id = :id")
+    Optional<Sale> findWithItemsById(@Param("id") Long id);
+
+    // Categoria gravada no item na venda, não a atual do produto: estorna exatamente o que addSales somou.
+    @Query("SELECT si.categoryId, SUM(si.quantity) FROM SaleItem si " +
+            "WHERE si.sale.id = :saleId GROUP BY si.categoryId")
+    List<Object[]> sumQuantityByCategoryForSale(@Param("saleId") Long saleId);
 }
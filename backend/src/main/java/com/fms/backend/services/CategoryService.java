@@ -2,6 +2,8 @@ package com.fms.backend.services;
 
 import com.fms.backend.dto.CategoryRequestDTO;
 import com.fms.backend.dto.CategoryResponseDTO;
+import com.fms.backend.events.CategoryChangedEvent;
+import com.fms.backend.events.ProductChangedEvent;
 import com.fms.backend.exceptions.validation.DuplicateResourceException;
 import com.fms.backend.exceptions.validation.ResourceNotFoundException;
 import com.fms.backend.exceptions.validation.ValidationException;
@@ -10,24 +12,123 @@ import com.fms.backend.models.Category;
 import com.fms.backend.repositories.CategoryRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     private final Logger logger = LoggerFactory.getLogger(CategoryService.class);
 
-    public CategoryService(CategoryRepository categoryRepository, CategoryMapper categoryMapper) {
+    // Dicionário imutável ID -> nome; substituído por inteiro após cada alteração confirmada.
+    private volatile Map<Long, String> categoryNames = Map.of();
+
+    public CategoryService(CategoryRepository categoryRepository, CategoryMapper categoryMapper, ApplicationEventPublisher eventPublisher) {
         this.categoryRepository = categoryRepository;
         this.categoryMapper = categoryMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        logger.info("Category Service: loaded {} categories into the dictionary.", refreshDictionary().size());
+    }
+
+    /**
+     * Nome da categoria pelo dicionário em memória. Um ID desconhecido é buscado individualmente no banco
+     * (ex.: categoria criada por outra instância) e, se existir, passa a fazer parte do dicionário;
+     * caso contrário, retorna nulo.
+     */
+    public String findNameById(Long id) {
+        if (id == null) {
+            return null;
+        }
+
+        Map<Long, String> names = categoryNames;
+        String name = names.get(id);
+        if (name != null) {
+            return name;
+        }
+
+        name = categoryRepository.findNameById(id).orElse(null);
+        if (name != null) {
+            remember(names, id, name);
+        }
+        return name;
+    }
+
+    /**
+     * Referência para associar a categoria a um produto, validada pelo dicionário e sem SELECT.
+     * Quem grava o produto trata a violação de chave estrangeira de uma entrada obsoleta (ver {@link #evict}).
+     */
+    public Category getReference(Long id) {
+        if (findNameById(id) == null) {
+            throw new ResourceNotFoundException("Categoria não encontrada com ID: " + id);
+        }
+
+        return categoryRepository.getReferenceById(id);
+    }
+
+    /**
+     * Remove do dicionário uma categoria que não existe mais no banco (ex.: excluída por outra instância).
+     */
+    public synchronized void evict(Long id) {
+        if (!categoryNames.containsKey(id)) {
+            return;
+        }
+
+        Map<Long, String> names = new HashMap<>(categoryNames);
+        names.remove(id);
+        categoryNames = Collections.unmodifiableMap(names);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        String previousName = categoryNames.get(event.categoryId());
+        String currentName = refreshDictionary().get(event.categoryId());
+
+        // Só uma categoria renomeada altera produtos já em cache; o dicionário é recarregado antes da invalidação.
+        if (previousName != null && !previousName.equals(currentName)) {
+            eventPublisher.publishEvent(ProductChangedEvent.catalog());
+        }
+    }
+
+    // Ignorado se o dicionário foi recarregado desde a leitura, para não ressuscitar uma categoria excluída.
+    private synchronized void remember(Map<Long, String> readFrom, Long id, String name) {
+        if (categoryNames != readFrom) {
+            return;
+        }
+
+        Map<Long, String> names = new HashMap<>(readFrom);
+        names.put(id, name);
+        categoryNames = Collections.unmodifiableMap(names);
+    }
+
+    private synchronized Map<Long, String> refreshDictionary() {
+        Map<Long, String> names = categoryRepository.findAllNames()
+                .stream()
+                .collect(Collectors.toUnmodifiableMap(row -> (Long) row[0], row -> (String) row[1]));
+
+        categoryNames = names;
+        return names;
     }
 
     @Transactional(readOnly = true)
@@ -69,6 +170,7 @@ public class CategoryService {
 
         Category category = categoryMapper.toEntity(dto);
         categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(category.getId()));
 
         return categoryMapper.toDTO(category);
     }
@@ -89,6 +191,7 @@ public class CategoryService {
 
         categoryMapper.updateEntityFromDto(dto, category);
         categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
 
         return categoryMapper.toDTO(category);
     }
@@ -102,6 +205,7 @@ public class CategoryService {
         }
 
         categoryRepository.delete(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
     }
 
 
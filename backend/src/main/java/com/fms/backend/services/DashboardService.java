@@ -0,0 +1,126 @@
+package com.fms.backend.services;
+
+import com.fms.backend.dto.CacheStatsDTO;
+import com.fms.backend.dto.DashboardDTO;
+import com.fms.backend.dto.DashboardFilterDTO;
+import com.fms.backend.events.SaleChangedEvent;
+import com.fms.backend.exceptions.validation.ValidationException;
+import com.fms.backend.models.enums.SaleChannel;
+import com.fms.backend.models.enums.TimeGranularity;
+import com.fms.backend.monitoring.jfr.DashboardComputationEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mantém em memória os últimos {@link DashboardDTO} calculados, um por combinação de filtros.
+ * Os snapshots são descartados após o commit de qualquer alteração de venda e nunca são servidos
+ * com idade acima de {@code app.dashboard.cache.max-staleness} (zero desativa o cache).
+ * Cálculos de filtros diferentes rodam em paralelo; requisições simultâneas para o mesmo filtro
+ * aguardam um único cálculo.
+ */
+@Service
+public class DashboardService {
+
+    private static final LocalDate MIN_DAY = LocalDate.of(1900, 1, 1);
+    private static final LocalDate MAX_DAY = LocalDate.of(9999, 12, 31);
+
+    private final SaleService saleService;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // Incrementada a cada invalidação; um cálculo iniciado antes dela não é publicado.
+    private final AtomicLong generation = new AtomicLong();
+    private final Cache<DashboardFilterDTO, Snapshot> snapshots;
+
+    private final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+
+    public DashboardService(SaleService saleService,
+                            @Value("${app.dashboard.cache.max-staleness}") Duration maxStaleness,
+                            @Value("${app.dashboard.cache.max-entries}") int maxEntries) {
+        this.saleService = saleService;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(maxStaleness)
+                .recordStats()
+                .build();
+    }
+
+    @Timed(value = "fms.sale.dashboard", description = "Dados do dashboard, servidos do cache ou calculados", histogram = true)
+    public DashboardDTO getDashboardData(Instant from, Instant to, SaleChannel channel, TimeGranularity granularity) {
+        DashboardFilterDTO filter = toFilter(from, to, channel, granularity);
+        DashboardComputationEvent event = new DashboardComputationEvent();
+        event.begin();
+
+        AtomicBoolean computed = new AtomicBoolean();
+        Snapshot current = snapshots.get(filter, key -> {
+            computed.set(true);
+            return compute(key);
+        });
+
+        if (current.generation() != generation.get()) {
+            // Calculado antes de uma invalidação concorrente: descarta e calcula de novo.
+            snapshots.asMap().remove(filter, current);
+            current = snapshots.get(filter, key -> {
+                computed.set(true);
+                return compute(key);
+            });
+        }
+
+        if (computed.get()) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        event.finish(filter, !computed.get());
+        return current.dashboard();
+    }
+
+    public CacheStatsDTO getCacheStats() {
+        return CacheStatsDTO.of(hits.get(), misses.get(), invalidations.get(), snapshots.stats().evictionCount());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSaleChanged(SaleChangedEvent event) {
+        generation.incrementAndGet();
+        snapshots.invalidateAll();
+        invalidations.incrementAndGet();
+    }
+
+    private static DashboardFilterDTO toFilter(Instant from, Instant to, SaleChannel channel, TimeGranularity granularity) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new ValidationException("A data inicial deve ser anterior à data final.");
+        }
+
+        return new DashboardFilterDTO(
+                from != null ? LocalDate.ofInstant(from, ZoneOffset.UTC) : MIN_DAY,
+                to != null ? LocalDate.ofInstant(to, ZoneOffset.UTC) : MAX_DAY,
+                channel,
+                granularity != null ? granularity : TimeGranularity.MONTH
+        );
+    }
+
+    private Snapshot compute(DashboardFilterDTO filter) {
+        logger.info("Dashboard Service: computing dashboard snapshot for {}.", filter);
+        long startedAt = generation.get();
+        return new Snapshot(saleService.getDashboardData(filter), startedAt);
+    }
+
+    private record Snapshot(DashboardDTO dashboard, long generation) {
+    }
+}
@@ -1,34 +1,71 @@
 package com.fms.backend.services;
 
+import com.fms.backend.dto.CacheStatsDTO;
+import com.fms.backend.dto.CursorPageDTO;
 import com.fms.backend.dto.ProductRequestDTO;
 import com.fms.backend.dto.ProductResponseDTO;
+import com.fms.backend.events.ProductChangedEvent;
 import com.fms.backend.exceptions.validation.DuplicateResourceException;
 import com.fms.backend.exceptions.validation.ResourceNotFoundException;
 import com.fms.backend.exceptions.validation.ValidationException;
 import com.fms.backend.mappers.ProductMapper;
 import com.fms.backend.models.Category;
 import com.fms.backend.models.Product;
-import com.fms.backend.repositories.CategoryRepository;
+import com.fms.backend.monitoring.jfr.StockDecrementEvent;
 import com.fms.backend.repositories.ProductRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 @Service
 public class ProductService {
 
+    // SQLSTATE do PostgreSQL para violação de chave estrangeira.
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
+
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
-    private final CategoryRepository categoryRepository;
+    private final CategoryService categoryService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Cache de leitura de findById; as entradas são descartadas após o commit de qualquer alteração do produto.
+    private final Cache<Long, ProductResponseDTO> productCache;
+    private final AtomicLong invalidations = new AtomicLong();
 
-    public ProductService(ProductRepository productRepository, ProductMapper productMapper, CategoryRepository categoryRepository) {
+    public ProductService(ProductRepository productRepository, ProductMapper productMapper, CategoryService categoryService,
+                          ApplicationEventPublisher eventPublisher,
+                          @Value("${app.product.cache.max-entries}") long maxEntries,
+                          @Value("${app.product.cache.ttl}") Duration ttl) {
         this.productRepository = productRepository;
         this.productMapper = productMapper;
-        this.categoryRepository = categoryRepository;
+        this.categoryService = categoryService;
+        this.eventPublisher = eventPublisher;
+        this.productCache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
     }
 
     private final Logger logger = LoggerFactory.getLogger(ProductService.class);
@@ -46,8 +83,82 @@ public class ProductService {
 
     }
 
+    /**
+     * Listagem por cursor (keyset), sem COUNT. O tamanho é limitado a {@link CursorPageDTO#MAX_SIZE}.
+     * @param after Último ID recebido na página anterior; nulo para a primeira página.
+     */
     @Transactional(readOnly = true)
+    public CursorPageDTO<ProductResponseDTO> scroll(Long after, int size) {
+        logger.info("Product Service: Scroll after {}.", after);
+
+        if (size < 1) {
+            throw new ValidationException("O tamanho da página deve ser maior que zero.");
+        }
+        size = Math.min(size, CursorPageDTO.MAX_SIZE);
+
+        List<Product> products = productRepository.findBefore(after != null ? after : Long.MAX_VALUE, Limit.of(size + 1));
+
+        boolean hasNext = products.size() > size;
+        List<Product> page = hasNext ? products.subList(0, size) : products;
+        Long nextCursor = hasNext ? page.get(page.size() - 1).getId() : null;
+
+        return new CursorPageDTO<>(productMapper.toDTOList(page), nextCursor, hasNext);
+    }
+
+    /**
+     * Busca textual no nome, descrição, cor e categoria, ordenada por relevância.
+     * @param query Termos de busca (aceita a sintaxe de websearch: "frase exata", -exclusão, OR).
+     * @param inStock Se verdadeiro, retorna apenas produtos com estoque disponível.
+     * @param size Tamanho da página, limitado a {@link CursorPageDTO#MAX_SIZE}.
+     */
+    @Transactional(readOnly = true)
+    public Page<ProductResponseDTO> search(
+            String query,
+            Long categoryId,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            boolean inStock,
+            int page, int size) {
+
+        logger.info("Product Service: Search products matching '{}'.", query);
+
+        if (query == null || query.isBlank()) {
+            throw new ValidationException("Informe um termo de busca.");
+        }
+
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new ValidationException("O preço mínimo não pode ser maior que o preço máximo.");
+        }
+
+        if (size < 1) {
+            throw new ValidationException("O tamanho da página deve ser maior que zero.");
+        }
+
+        // Mesmo limite da listagem por cursor; a ordenação por relevância está na própria consulta.
+        var pageable = PageRequest.of(page, Math.min(size, CursorPageDTO.MAX_SIZE));
+        Page<Long> productIds = productRepository.searchIds(query.trim(), categoryId, minPrice, maxPrice, inStock, pageable);
+
+        Map<Long, Product> products = productRepository.findAllByIdIn(productIds.getContent())
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<Product> ranked = productIds.getContent().stream()
+                .map(products::get)
+                .toList();
+
+        return new PageImpl<>(productMapper.toDTOList(ranked), pageable, productIds.getTotalElements());
+    }
+
+    /**
+     * Consulta pelo cache; somente a falta vai ao banco, com o {@code findById} do repositório
+     * (transação somente leitura do próprio Spring Data). O mapeamento não depende de associações lazy:
+     * o nome da categoria vem do dicionário do {@link CategoryService}.
+     */
     public ProductResponseDTO findById(Long id) {
+        return productCache.get(id, this::loadById);
+    }
+
+    private ProductResponseDTO loadById(Long id) {
         logger.info("Find product by id: {}", id);
 
         var product = productRepository.findById(id).orElseThrow(
@@ -57,6 +168,21 @@ public class ProductService {
         return productMapper.toDTO(product);
     }
 
+    public CacheStatsDTO getCacheStats() {
+        CacheStats stats = productCache.stats();
+        return CacheStatsDTO.of(stats.hitCount(), stats.missCount(), invalidations.get(), stats.evictionCount());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.productIds().isEmpty()) {
+            productCache.invalidateAll();
+        } else {
+            productCache.invalidateAll(event.productIds());
+        }
+        invalidations.incrementAndGet();
+    }
+
     @Transactional(readOnly = true)
     public Product findEntityById(Long id) {
         logger.info("Find entity by id: {}", id);
@@ -79,19 +205,38 @@ public class ProductService {
             throw new DuplicateResourceException("Já existe um produto com esse nome: " + dto.getName());
         }
 
-        Category category = categoryRepository.findById(dto.getCategoryId())
-                .orElseThrow(() -> new ResourceNotFoundException("Categoria não encontrada com ID: " + dto.getCategoryId()));
+        Category category = categoryService.getReference(dto.getCategoryId());
 
         Product product = productMapper.toEntity(dto);
         product.setCreatedAt(Instant.now());
         product.setUpdatedAt(Instant.now());
         product.setCategory(category);
 
-        productRepository.save(product);
+        saveWithCategory(product, dto.getCategoryId());
+        eventPublisher.publishEvent(ProductChangedEvent.of(product.getId()));
 
         return productMapper.toDTO(product);
     }
 
+    /**
+     * Grava o produto associado por {@link CategoryService#getReference}, que não consulta o banco.
+     * Se a categoria foi excluída por outra instância, a chave estrangeira falha: a entrada obsoleta
+     * sai do dicionário e a resposta é 404, como para uma categoria desconhecida.
+     */
+    private void saveWithCategory(Product product, Long categoryId) {
+        try {
+            productRepository.saveAndFlush(product);
+        } catch (DataIntegrityViolationException ex) {
+            if (!(ex.getMostSpecificCause() instanceof SQLException sqlException)
+                    || !FOREIGN_KEY_VIOLATION.equals(sqlException.getSQLState())) {
+                throw ex;
+            }
+
+            categoryService.evict(categoryId);
+            throw new ResourceNotFoundException("Categoria não encontrada com ID: " + categoryId);
+        }
+    }
+
     @Transactional
     public ProductResponseDTO patch(Long id, ProductRequestDTO dto) {
 
@@ -110,14 +255,17 @@ public class ProductService {
         productMapper.updateEntityFromDto(dto, product);
 
         if (dto.getCategoryId() != null) {
-            Category category = categoryRepository.findById(dto.getCategoryId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Categoria não encontrada com id: " + dto.getCategoryId()));
-            product.setCategory(category);
+            product.setCategory(categoryService.getReference(dto.getCategoryId()));
         }
 
         productMapper.updateEntityFromDto(dto, product);
         product.setUpdatedAt(Instant.now());
-        productRepository.save(product);
+        if (dto.getCategoryId() != null) {
+            saveWithCategory(product, dto.getCategoryId());
+        } else {
+            productRepository.save(product);
+        }
+        eventPublisher.publishEvent(ProductChangedEvent.of(id));
 
         return productMapper.toDTO(product);
     }
@@ -127,21 +275,93 @@ public class ProductService {
         logger.info("Delete product by id {}.", id);
         Product product = findEntityById(id);
         productRepository.delete(product);
+        eventPublisher.publishEvent(ProductChangedEvent.of(id));
     }
 
     @Transactional
     public void updateStock(Long productId, Integer quantity) {
+        StockDecrementEvent event = new StockDecrementEvent();
+        event.begin();
 
-        Product product = findEntityById(productId);
-
-        int newStock = product.getQuantityStock() - quantity;
+        int updated = productRepository.decrementStock(productId, quantity, Instant.now());
+        event.finish(1, updated);
 
-        if (newStock < 0) {
+        if (updated == 0) {
+            Product product = findEntityById(productId);
             throw new ValidationException("Quantidade insuficiente de produto: " + product.getName());
         }
 
-        product.setQuantityStock(newStock);
-        productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.of(productId));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, Product> findEntitiesByIds(Collection<Long> ids) {
+        logger.info("Find {} product entities by id.", ids.size());
+
+        return productRepository.findAllByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+
+    /**
+     * Reserva o estoque de todos os produtos de uma venda com um SELECT (IN) e um único UPDATE condicional.
+     * @param quantities Quantidade solicitada por ID de produto.
+     * @return Os produtos carregados, indexados pelo ID.
+     */
+    @Transactional
+    public Map<Long, Product> reserveStock(Map<Long, Integer> quantities) {
+        logger.info("Reserve stock for {} products.", quantities.size());
+
+        Map<Long, Product> products = findEntitiesByIds(quantities.keySet());
+
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            Product product = products.get(entry.getKey());
+
+            if (product == null) {
+                throw new ResourceNotFoundException("Produto não encontrado para esse id: " + entry.getKey());
+            }
+
+            if (entry.getValue() > product.getQuantityStock()) {
+                throw new ValidationException(
+                        "Quantidade insuficiente. Produto: " + product.getName() +
+                                ", Disponível: " + product.getQuantityStock() +
+                                ", Solicitado: " + entry.getValue()
+                );
+            }
+        }
+
+        decrementStock(quantities);
+
+        return products;
+    }
+
+    /**
+     * Decrementa o estoque de vários produtos em um único UPDATE condicional.
+     * Falha se algum produto não tiver mais estoque suficiente no momento do UPDATE.
+     * Produtos já carregados na transação não são atualizados em memória: quem chama não deve ler
+     * {@code quantityStock} deles depois do decremento (ver {@link ProductRepository#decrementStockBatch}).
+     * @param quantities Quantidade a decrementar por ID de produto.
+     */
+    @Transactional
+    public void decrementStock(Map<Long, Integer> quantities) {
+        StockDecrementEvent event = new StockDecrementEvent();
+        event.begin();
+
+        Long[] productIds = quantities.keySet().toArray(Long[]::new);
+        Integer[] requested = quantities.values().toArray(Integer[]::new);
+        List<Long> updatedIds = productRepository.decrementStockBatch(productIds, requested);
+        event.finish(productIds.length, updatedIds.size());
+
+        // Outra venda pode ter consumido o estoque entre o SELECT e o UPDATE.
+        if (updatedIds.size() != productIds.length) {
+            String missing = quantities.keySet().stream()
+                    .filter(id -> !updatedIds.contains(id))
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(", "));
+            throw new ValidationException("Quantidade insuficiente para os produtos com id: " + missing);
+        }
+
+        eventPublisher.publishEvent(new ProductChangedEvent(updatedIds));
     }
 
 
@@ -0,0 +1,133 @@
+package com.fms.backend.services;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fms.backend.dto.SaleImportErrorDTO;
+import com.fms.backend.dto.SaleImportResponseDTO;
+import com.fms.backend.dto.SaleRequestDTO;
+import com.fms.backend.exceptions.validation.ValidationException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class SaleImportService {
+
+    @Value("${app.sale-import.batch-size}")
+    private int batchSize;
+
+    @Value("${app.sale-import.max-reported-errors}")
+    private int maxReportedErrors;
+
+    private final SaleService saleService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    private final Logger logger = LoggerFactory.getLogger(SaleImportService.class);
+
+    public SaleImportService(SaleService saleService, ObjectMapper objectMapper, Validator validator) {
+        this.saleService = saleService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    /**
+     * Importa vendas lidas como stream de um corpo NDJSON (uma venda por linha) ou de um array JSON.
+     * As vendas são persistidas em lotes de {@code app.sale-import.batch-size}, um lote por transação.
+     * @param body O corpo da requisição.
+     * @return Totais importados/rejeitados e o erro de cada linha rejeitada.
+     */
+    public SaleImportResponseDTO importSales(InputStream body) throws IOException {
+        logger.info("Sale Import Service: import sales.");
+
+        ImportProgress progress = new ImportProgress();
+        Map<Long, SaleRequestDTO> batch = new LinkedHashMap<>();
+        long row = 0;
+
+        try (MappingIterator<SaleRequestDTO> iterator = objectMapper.readerFor(SaleRequestDTO.class).readValues(body)) {
+            while (true) {
+                SaleRequestDTO dto;
+                try {
+                    if (!iterator.hasNextValue()) {
+                        break;
+                    }
+                    row++;
+                    dto = iterator.nextValue();
+                } catch (JsonMappingException ex) {
+                    progress.reject(row, "Registro inválido: " + ex.getOriginalMessage());
+                    continue;
+                } catch (JsonParseException ex) {
+                    // Erro de sintaxe: não é possível localizar com segurança o início do próximo registro.
+                    progress.reject(row, "JSON malformado: " + ex.getOriginalMessage());
+                    break;
+                }
+
+                Set<ConstraintViolation<SaleRequestDTO>> violations = validator.validate(dto);
+                if (!violations.isEmpty()) {
+                    progress.reject(row, violations.stream()
+                            .map(ConstraintViolation::getMessage)
+                            .sorted()
+                            .collect(Collectors.joining("; ")));
+                    continue;
+                }
+
+                batch.put(row, dto);
+                if (batch.size() >= batchSize) {
+                    flush(batch, progress);
+                }
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            flush(batch, progress);
+        }
+
+        logger.info("Sale import finished: {} imported, {} failed.", progress.imported, progress.failed);
+
+        return new SaleImportResponseDTO(progress.imported, progress.failed, progress.errors);
+    }
+
+    private void flush(Map<Long, SaleRequestDTO> batch, ImportProgress progress) {
+        try {
+            List<SaleImportErrorDTO> rowErrors = saleService.importBatch(batch);
+            rowErrors.forEach(error -> progress.reject(error.row(), error.message()));
+            progress.imported += batch.size() - rowErrors.size();
+        } catch (ValidationException | DataAccessException ex) {
+            logger.warn("Sale import batch rolled back: {}", ex.getMessage());
+            batch.keySet().forEach(row -> progress.reject(row, "Lote não importado: " + ex.getMessage()));
+        } catch (RuntimeException ex) {
+            // Falha inesperada (ex.: registro malformado): o lote é desfeito e a importação segue com os próximos.
+            logger.error("Sale import batch rolled back after an unexpected error.", ex);
+            batch.keySet().forEach(row -> progress.reject(row, "Lote não importado: erro inesperado."));
+        }
+        batch.clear();
+    }
+
+    private final class ImportProgress {
+        private long imported;
+        private long failed;
+        private final List<SaleImportErrorDTO> errors = new ArrayList<>();
+
+        private void reject(long row, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new SaleImportErrorDTO(row, message));
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.fms.backend.services;
+
+import com.fms.backend.models.Sale;
+import com.fms.backend.models.SaleItem;
+import com.fms.backend.models.enums.SaleChannel;
+import com.fms.backend.repositories.SaleDailyCategoryRepository;
+import com.fms.backend.repositories.SaleDailyChannelRepository;
+import com.fms.backend.repositories.SaleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mantém as tabelas de agregados diários (dia x canal e dia x canal x categoria) lidas pelo dashboard.
+ * Cada operação aplica todos os deltas com no máximo dois statements, ordenados pela chave
+ * para que transações concorrentes travem as linhas sempre na mesma ordem.
+ */
+@Service
+public class SaleRollupService {
+
+    private final SaleDailyChannelRepository dailyChannelRepository;
+    private final SaleDailyCategoryRepository dailyCategoryRepository;
+    private final SaleRepository saleRepository;
+
+    private final Logger logger = LoggerFactory.getLogger(SaleRollupService.class);
+
+    public SaleRollupService(SaleDailyChannelRepository dailyChannelRepository, SaleDailyCategoryRepository dailyCategoryRepository, SaleRepository saleRepository) {
+        this.dailyChannelRepository = dailyChannelRepository;
+        this.dailyCategoryRepository = dailyCategoryRepository;
+        this.saleRepository = saleRepository;
+    }
+
+    @Transactional
+    public void addSales(Collection<Sale> sales) {
+        logger.info("Add {} sales to the daily rollups.", sales.size());
+
+        Deltas deltas = new Deltas();
+        for (Sale sale : sales) {
+            LocalDate day = toDay(sale.getSaleDate());
+            deltas.channel(day, sale.getSaleChannel(), 1, sale.getTotalValue());
+
+            for (SaleItem item : sale.getItems()) {
+                deltas.category(day, sale.getSaleChannel(), item.getCategoryId(), item.getQuantity());
+            }
+        }
+        deltas.apply();
+    }
+
+    @Transactional
+    public void removeSale(Sale sale) {
+        logger.info("Remove sale {} from the daily rollups.", sale.getId());
+
+        LocalDate day = toDay(sale.getSaleDate());
+        Deltas deltas = new Deltas();
+        deltas.channel(day, sale.getSaleChannel(), -1, sale.getTotalValue().negate());
+
+        for (Object[] result : saleRepository.sumQuantityByCategoryForSale(sale.getId())) {
+            deltas.category(day, sale.getSaleChannel(), (Long) result[0], -((Number) result[1]).longValue());
+        }
+        deltas.apply();
+    }
+
+    /**
+     * Move a contribuição de uma venda alterada do dia/canal anteriores para os atuais.
+     */
+    @Transactional
+    public void moveSale(Sale sale, Instant previousSaleDate, SaleChannel previousChannel) {
+        LocalDate previousDay = toDay(previousSaleDate);
+        LocalDate day = toDay(sale.getSaleDate());
+
+        if (previousDay.equals(day) && previousChannel == sale.getSaleChannel()) {
+            return;
+        }
+
+        logger.info("Move sale {} in the daily rollups.", sale.getId());
+
+        Deltas deltas = new Deltas();
+        deltas.channel(previousDay, previousChannel, -1, sale.getTotalValue().negate());
+        deltas.channel(day, sale.getSaleChannel(), 1, sale.getTotalValue());
+
+        for (Object[] result : saleRepository.sumQuantityByCategoryForSale(sale.getId())) {
+            long quantity = ((Number) result[1]).longValue();
+            deltas.category(previousDay, previousChannel, (Long) result[0], -quantity);
+            deltas.category(day, sale.getSaleChannel(), (Long) result[0], quantity);
+        }
+        deltas.apply();
+    }
+
+    private static LocalDate toDay(Instant instant) {
+        return LocalDate.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private record ChannelKey(LocalDate day, SaleChannel channel) {
+    }
+
+    private record CategoryKey(LocalDate day, SaleChannel channel, Long categoryId) {
+    }
+
+    private record ChannelDelta(long count, BigDecimal revenue) {
+    }
+
+    private final class Deltas {
+
+        private final Map<ChannelKey, ChannelDelta> channels = new TreeMap<>(
+                Comparator.comparing(ChannelKey::day).thenComparing(ChannelKey::channel));
+        private final Map<CategoryKey, Long> categories = new TreeMap<>(
+                Comparator.comparing(CategoryKey::day).thenComparing(CategoryKey::channel).thenComparing(CategoryKey::categoryId));
+
+        private void channel(LocalDate day, SaleChannel channel, long count, BigDecimal revenue) {
+            channels.merge(new ChannelKey(day, channel), new ChannelDelta(count, revenue),
+                    (a, b) -> new ChannelDelta(a.count() + b.count(), a.revenue().add(b.revenue())));
+        }
+
+        private void category(LocalDate day, SaleChannel channel, Long categoryId, long quantity) {
+            categories.merge(new CategoryKey(day, channel, categoryId), quantity, Long::sum);
+        }
+
+        private void apply() {
+            if (!channels.isEmpty()) {
+                List<ChannelKey> keys = List.copyOf(channels.keySet());
+                dailyChannelRepository.upsertDeltas(
+                        keys.stream().map(key -> key.day().toString()).toArray(String[]::new),
+                        keys.stream().map(key -> key.channel().name()).toArray(String[]::new),
+                        keys.stream().map(key -> channels.get(key).count()).toArray(Long[]::new),
+                        keys.stream().map(key -> channels.get(key).revenue()).toArray(BigDecimal[]::new)
+                );
+            }
+
+            if (!categories.isEmpty()) {
+                List<CategoryKey> keys = List.copyOf(categories.keySet());
+                dailyCategoryRepository.upsertDeltas(
+                        keys.stream().map(key -> key.day().toString()).toArray(String[]::new),
+                        keys.stream().map(key -> key.channel().name()).toArray(String[]::new),
+                        keys.stream().map(CategoryKey::categoryId).toArray(Long[]::new),
+                        keys.stream().map(categories::get).toArray(Long[]::new)
+                );
+            }
+        }
+    }
+}
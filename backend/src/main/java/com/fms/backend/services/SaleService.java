@@ -1,24 +1,39 @@
 package com.fms.backend.services;
 
 import com.fms.backend.dto.*;
+import com.fms.backend.events.SaleChangedEvent;
 import com.fms.backend.exceptions.validation.ResourceNotFoundException;
 import com.fms.backend.exceptions.validation.ValidationException;
 import com.fms.backend.mappers.SaleMapper;
 import com.fms.backend.models.Product;
 import com.fms.backend.models.Sale;
 import com.fms.backend.models.SaleItem;
+import com.fms.backend.models.enums.ClientMatchMode;
+import com.fms.backend.models.enums.SaleChannel;
+import com.fms.backend.models.enums.TimeGranularity;
+import com.fms.backend.monitoring.jfr.SaleRegistrationEvent;
+import com.fms.backend.repositories.SaleDailyCategoryRepository;
+import com.fms.backend.repositories.SaleDailyChannelRepository;
 import com.fms.backend.repositories.SaleRepository;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,43 +42,133 @@ public class SaleService {
     private final SaleRepository saleRepository;
     private final ProductService productService;
     private final SaleMapper saleMapper;
+    private final SaleRollupService saleRollupService;
+    private final SaleDailyChannelRepository dailyChannelRepository;
+    private final SaleDailyCategoryRepository dailyCategoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     private final Logger logger = LoggerFactory.getLogger(SaleService.class);
 
-    public SaleService(SaleRepository saleRepository, ProductService productService, SaleMapper saleMapper) {
+    public SaleService(SaleRepository saleRepository, ProductService productService, SaleMapper saleMapper, SaleRollupService saleRollupService, SaleDailyChannelRepository dailyChannelRepository, SaleDailyCategoryRepository dailyCategoryRepository, ApplicationEventPublisher eventPublisher) {
         this.saleRepository = saleRepository;
         this.productService = productService;
         this.saleMapper = saleMapper;
+        this.saleRollupService = saleRollupService;
+        this.dailyChannelRepository = dailyChannelRepository;
+        this.dailyCategoryRepository = dailyCategoryRepository;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Timed(value = "fms.sale.register", description = "Registro de venda com baixa de estoque", histogram = true)
     @Transactional
     public SaleResponseDTO registerSale(SaleRequestDTO dto) {
         logger.info("Register sale");
+        SaleRegistrationEvent event = new SaleRegistrationEvent();
+        event.begin();
 
+        Map<Long, Product> products = productService.reserveStock(quantitiesByProduct(dto));
+
+        Sale savedSale = saleRepository.save(buildSale(dto, products));
+        saleRollupService.addSales(List.of(savedSale));
+        eventPublisher.publishEvent(new SaleChangedEvent(1));
+
+        event.finish(savedSale.getId(), savedSale.getItems().size(), savedSale.getTotalValue());
+        return saleMapper.toDTO(savedSale);
+
+    }
+
+    /**
+     * Persiste um lote de vendas importadas em uma única transação.
+     * Linhas com produto inexistente ou sem estoque são rejeitadas individualmente; as demais
+     * reservam o estoque com um único UPDATE e são inseridas em lote (JDBC batch).
+     * @param rows Vendas já validadas, indexadas pelo número da linha de origem.
+     * @return Os erros das linhas rejeitadas.
+     */
+    @Transactional
+    public List<SaleImportErrorDTO> importBatch(Map<Long, SaleRequestDTO> rows) {
+        logger.info("Import batch of {} sales.", rows.size());
+
+        Set<Long> productIds = rows.values().stream()
+                .flatMap(dto -> dto.getItems().stream())
+                .map(SaleItemRequestDTO::getProductId)
+                .collect(Collectors.toSet());
+
+        Map<Long, Product> products = productService.findEntitiesByIds(productIds);
+        Map<Long, Integer> available = new HashMap<>();
+        products.values().forEach(product -> available.put(product.getId(), product.getQuantityStock()));
+
+        Map<Long, Integer> reserved = new LinkedHashMap<>();
+        List<Sale> sales = new ArrayList<>();
+        List<SaleImportErrorDTO> errors = new ArrayList<>();
+
+        for (Map.Entry<Long, SaleRequestDTO> row : rows.entrySet()) {
+            Map<Long, Integer> quantities = quantitiesByProduct(row.getValue());
+
+            String error = checkAvailability(quantities, products, available);
+            if (error != null) {
+                errors.add(new SaleImportErrorDTO(row.getKey(), error));
+                continue;
+            }
+
+            quantities.forEach((productId, quantity) -> {
+                available.merge(productId, -quantity, Integer::sum);
+                reserved.merge(productId, quantity, Integer::sum);
+            });
+            sales.add(buildSale(row.getValue(), products));
+        }
+
+        if (!reserved.isEmpty()) {
+            productService.decrementStock(reserved);
+        }
+        saleRepository.saveAll(sales);
+        saleRollupService.addSales(sales);
+        eventPublisher.publishEvent(new SaleChangedEvent(sales.size()));
+
+        return errors;
+    }
+
+    private static Map<Long, Integer> quantitiesByProduct(SaleRequestDTO dto) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (SaleItemRequestDTO itemDto : dto.getItems()) {
+            quantities.merge(itemDto.getProductId(), itemDto.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    private static String checkAvailability(Map<Long, Integer> quantities, Map<Long, Product> products, Map<Long, Integer> available) {
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            Product product = products.get(entry.getKey());
+
+            if (product == null) {
+                return "Produto não encontrado para esse id: " + entry.getKey();
+            }
+
+            if (entry.getValue() > available.get(entry.getKey())) {
+                return "Quantidade insuficiente. Produto: " + product.getName() +
+                        ", Disponível: " + available.get(entry.getKey()) +
+                        ", Solicitado: " + entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private Sale buildSale(SaleRequestDTO dto, Map<Long, Product> products) {
         Sale sale = new Sale();
         sale.setSaleDate(dto.getSaleDate());
         sale.setClient(dto.getClient());
         sale.setSaleChannel(dto.getSaleChannel());
 
-
         BigDecimal totalSaleAmount = BigDecimal.ZERO;
         List<SaleItem> saleItems = new ArrayList<>();
 
         for (SaleItemRequestDTO itemDto : dto.getItems()) {
 
-            Product product = productService.findEntityById(itemDto.getProductId());
-
-            if (itemDto.getQuantity() > product.getQuantityStock()) {
-                throw new ValidationException(
-                        "Quantidade insuficiente. Produto: " + product.getName() +
-                                ", Disponível: " + product.getQuantityStock() +
-                                ", Solicitado: " + itemDto.getQuantity()
-                );
-            }
+            Product product = products.get(itemDto.getProductId());
 
             SaleItem saleItem = new SaleItem();
             saleItem.setSale(sale);
             saleItem.setProduct(product);
+            saleItem.setCategoryId(product.getCategory().getId());
             saleItem.setQuantity(itemDto.getQuantity());
 
             saleItem.setUnitAtPrice(product.getPrice());
@@ -73,46 +178,113 @@ public class SaleService {
 
             totalSaleAmount = totalSaleAmount.add(subTotal);
             saleItems.add(saleItem);
-
-            productService.updateStock(product.getId(), itemDto.getQuantity());
         }
 
         sale.setTotalValue(totalSaleAmount);
         sale.setItems(saleItems);
-        saleRepository.save(sale);
-
-        Sale savedSale = saleRepository.save(sale);
-
-        return saleMapper.toDTO(savedSale);
 
+        return sale;
     }
 
     @Transactional(readOnly = true)
     public Page<SaleResponseDTO> findAll(
             Long categoryId,
             String clientName,
+            ClientMatchMode clientMatch,
             int page, int size)
     {
         logger.info("Sale Service: FindAll.");
         var pageable = PageRequest.of(page, size, Sort.by("id").descending());
 
-        Page<Sale> sales;
+        Page<Long> saleIds;
+        if (categoryId != null) {
+            saleIds = saleRepository.findPageIdsByProductCategory(categoryId, pageable);
+        } else if (clientName != null && !clientName.isBlank() && clientMatch != ClientMatchMode.EXACT) {
+            saleIds = saleRepository.findPageIdsByClientLike(clientPattern(clientName, clientMatch), pageable);
+        } else if (clientName != null && !clientName.isBlank()) {
+            saleIds = saleRepository.findPageIdsByClient(clientName, pageable);
+        } else {
+            saleIds = saleRepository.findPageIds(pageable);
+        }
+
+        return new PageImpl<>(toDTOList(saleIds.getContent()), pageable, saleIds.getTotalElements());
+    }
+
+    /**
+     * Listagem por cursor (keyset): {@code WHERE sale_id < after ORDER BY sale_id DESC LIMIT size}, sem COUNT.
+     * O tamanho é limitado a {@link CursorPageDTO#MAX_SIZE}.
+     * @param after Último ID recebido na página anterior; nulo para a primeira página.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<SaleResponseDTO> scroll(
+            Long categoryId,
+            String clientName,
+            ClientMatchMode clientMatch,
+            Long after, int size)
+    {
+        logger.info("Sale Service: Scroll after {}.", after);
+
+        if (size < 1) {
+            throw new ValidationException("O tamanho da página deve ser maior que zero.");
+        }
+        size = Math.min(size, CursorPageDTO.MAX_SIZE);
+
+        long cursor = after != null ? after : Long.MAX_VALUE;
+        var limit = Limit.of(size + 1);
+
+        List<Long> saleIds;
         if (categoryId != null) {
-            sales = saleRepository.findSalesByProductCategory(categoryId, pageable);
+            saleIds = saleRepository.findIdsByProductCategoryBefore(categoryId, cursor, limit);
+        } else if (clientName != null && !clientName.isBlank() && clientMatch != ClientMatchMode.EXACT) {
+            saleIds = saleRepository.findIdsByClientLikeBefore(clientPattern(clientName, clientMatch), cursor, limit);
         } else if (clientName != null && !clientName.isBlank()) {
-            sales = saleRepository.findByClient(clientName, pageable);
+            saleIds = saleRepository.findIdsByClientBefore(clientName, cursor, limit);
         } else {
-            sales = saleRepository.findAll(pageable);
+            saleIds = saleRepository.findIdsBefore(cursor, limit);
         }
 
-        return sales.map(saleMapper::toDTO);
+        boolean hasNext = saleIds.size() > size;
+        List<Long> pageIds = hasNext ? saleIds.subList(0, size) : saleIds;
+        Long nextCursor = hasNext ? pageIds.get(pageIds.size() - 1) : null;
+
+        return new CursorPageDTO<>(toDTOList(pageIds), nextCursor, hasNext);
+    }
+
+    /**
+     * Monta o padrão LIKE (em minúsculas, com %, _ e \ escapados) para busca por prefixo ou por trecho do nome.
+     */
+    private static String clientPattern(String clientName, ClientMatchMode clientMatch) {
+        String escaped = clientName.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+
+        return clientMatch == ClientMatchMode.PREFIX ? escaped + "%" : "%" + escaped + "%";
+    }
+
+    /**
+     * Carrega vendas, itens e produtos dos IDs informados em um único SELECT, preservando a ordem dos IDs.
+     */
+    private List<SaleResponseDTO> toDTOList(List<Long> saleIds) {
+        if (saleIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Sale> salesById = saleRepository.findAllWithItemsByIdIn(saleIds)
+                .stream()
+                .collect(Collectors.toMap(Sale::getId, Function.identity()));
+
+        return saleIds.stream()
+                .map(salesById::get)
+                .map(saleMapper::toDTO)
+                .collect(Collectors.toList());
     }
 
 
     @Transactional(readOnly = true)
     public SaleResponseDTO findById(Long id) {
         logger.info("Find sale by id: {}", id);
-        var entity = saleRepository.findById(id)
+        var entity = saleRepository.findWithItemsById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Venda não encontrada para o ID: " + id));
 
         return saleMapper.toDTO(entity);
@@ -131,9 +303,13 @@ public class SaleService {
     public SaleResponseDTO patch(Long id, SaleRequestDTO dto) {
         logger.info("Patch sale with id {}.", id);
         Sale sale = findEntityById(id);
+        Instant previousSaleDate = sale.getSaleDate();
+        SaleChannel previousChannel = sale.getSaleChannel();
 
         saleMapper.updateEntityFromDto(dto, sale);
         saleRepository.save(sale);
+        saleRollupService.moveSale(sale, previousSaleDate, previousChannel);
+        eventPublisher.publishEvent(new SaleChangedEvent(1));
 
         return saleMapper.toDTO(sale);
     }
@@ -142,16 +318,23 @@ public class SaleService {
     public void delete(Long id) {
         logger.info("Delete sale by id {}.", id);
         Sale sale = findEntityById(id);
+        saleRollupService.removeSale(sale);
         saleRepository.delete(sale);
+        eventPublisher.publishEvent(new SaleChangedEvent(1));
     }
 
+    /**
+     * Monta o dashboard a partir dos agregados diários, sem varrer tb_sales/tb_sale_items.
+     * Os filtros de intervalo e canal são aplicados diretamente nas consultas dos agregados.
+     */
     @Transactional(readOnly = true)
-    public DashboardDTO getDashboardData() {
+    public DashboardDTO getDashboardData(DashboardFilterDTO filter) {
         DashboardDTO dashboard = new DashboardDTO();
+        SaleChannel channel = filter.channel();
 
         // 1. Vendas por Canal (Sales By Channel)
 
-        List<Object[]> salesByChannelResults = saleRepository.countSalesByChannel();
+        List<Object[]> salesByChannelResults = dailyChannelRepository.countSalesByChannel(filter.fromDay(), filter.toDay(), channel);
         List<DashboardDTO.ChannelSaleData> channelData = salesByChannelResults.stream()
                 .map(result -> new DashboardDTO.ChannelSaleData(
                         result[0].toString(),
@@ -162,7 +345,7 @@ public class SaleService {
 
         // 2. Itens Vendidos por Categoria (Items Sold By Category)
 
-        List<Object[]> itemsByCategoryResults = saleRepository.sumItemsSoldByCategory();
+        List<Object[]> itemsByCategoryResults = dailyCategoryRepository.sumItemsSoldByCategory(filter.fromDay(), filter.toDay(), channel);
         Map<String, Long> itemsByCategoryMap = new HashMap<>();
 
         for (Object[] result : itemsByCategoryResults) {
@@ -171,27 +354,34 @@ public class SaleService {
         // 3. Totais (Total Sales Count e Total Revenue)
 
         dashboard.setItemsSoldByCategory(itemsByCategoryMap);
-        dashboard.setTotalSalesCount(saleRepository.count());
-
-        BigDecimal totalRevenue = saleRepository.sumTotalRevenue().orElse(BigDecimal.ZERO);
-        dashboard.setTotalRevenue(totalRevenue);
-
-        // 4. Vendas por Mês/Ano (Revenue by Month)
-        List<Object[]> revenueByMonthResults = saleRepository.sumRevenueByMonth();
-        List<DashboardDTO.MonthlyRevenueData> monthlyData = revenueByMonthResults.stream()
-                .map(result -> new DashboardDTO.MonthlyRevenueData(
-                        ((Number) result[0]).intValue(),
-                        ((Number) result[1]).intValue(),
-                        (BigDecimal) result[2]
+
+        Object[] totals = dailyChannelRepository.sumTotals(filter.fromDay(), filter.toDay(), channel).get(0);
+        dashboard.setTotalSalesCount(((Number) totals[0]).longValue());
+        dashboard.setTotalRevenue(totals[1] != null ? (BigDecimal) totals[1] : BigDecimal.ZERO);
+
+        // 4. Receita por período (dia, semana ou mês)
+        List<Object[]> revenueByPeriodResults = dailyChannelRepository.sumRevenueByPeriod(
+                filter.granularity().sqlUnit(), filter.fromDay(), filter.toDay(), channel != null ? channel.name() : null);
+        List<DashboardDTO.PeriodRevenueData> periodData = revenueByPeriodResults.stream()
+                .map(result -> new DashboardDTO.PeriodRevenueData(
+                        LocalDate.parse((String) result[0]),
+                        (BigDecimal) result[1]
                 )).collect(Collectors.toList());
 
-        dashboard.setRevenueByMonth(monthlyData);
+        dashboard.setRevenueByPeriod(periodData);
+
+        // Mantém o formato antigo (ano/mês) quando a granularidade é mensal.
+        if (filter.granularity() == TimeGranularity.MONTH) {
+            dashboard.setRevenueByMonth(periodData.stream()
+                    .map(period -> new DashboardDTO.MonthlyRevenueData(
+                            period.getPeriodStart().getYear(),
+                            period.getPeriodStart().getMonthValue(),
+                            period.getRevenue()
+                    )).collect(Collectors.toList()));
+        }
 
         return dashboard;
     }
 
 
 }
-
-
-
@@ -3,6 +3,7 @@ package com.fms.backend.services;
 import com.fms.backend.dto.UserMeResponseDTO;
 import com.fms.backend.dto.UserRequestDTO;
 import com.fms.backend.dto.UserResponseDTO;
+import com.fms.backend.events.UserChangedEvent;
 import com.fms.backend.exceptions.auth.CustomAccessDeniedException;
 import com.fms.backend.exceptions.auth.CustomAuthenticationException;
 import com.fms.backend.exceptions.validation.DuplicateResourceException;
@@ -10,11 +11,13 @@ import com.fms.backend.exceptions.validation.ResourceNotFoundException;
 import com.fms.backend.mappers.UserMapper;
 import com.fms.backend.models.Role;
 import com.fms.backend.models.User;
+import com.fms.backend.repositories.RefreshTokenRepository;
 import com.fms.backend.repositories.RoleRepository;
 import com.fms.backend.repositories.UserRepository;
 import com.fms.backend.utils.AuthUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,14 +33,18 @@ public class UserService {
     private final UserMapper userMapper;
     private final RoleRepository roleRepository;
     private final BCryptPasswordEncoder passwordEncoder;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     private final Logger logger = LoggerFactory.getLogger(UserService.class);
 
-    public UserService(UserRepository userRepository, UserMapper userMapper, RoleRepository roleRepository, BCryptPasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, UserMapper userMapper, RoleRepository roleRepository, BCryptPasswordEncoder passwordEncoder, RefreshTokenRepository refreshTokenRepository, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -105,6 +112,7 @@ public class UserService {
 
             userMapper.updateEntityFromDto(dto, user);
             userRepository.save(user);
+            eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
 
             return userMapper.toDTO(user);
         } else {
@@ -120,8 +128,10 @@ public class UserService {
 
         entity.getRoles().clear();
         userRepository.save(entity);
+        refreshTokenRepository.deleteAllByUserId(entity.getId());
 
         userRepository.delete(entity);
+        eventPublisher.publishEvent(new UserChangedEvent(entity.getId()));
     }
 
 
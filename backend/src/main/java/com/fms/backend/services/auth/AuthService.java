@@ -1,11 +1,13 @@
 package com.fms.backend.services.auth;
 
+import com.fms.backend.dto.CacheStatsDTO;
 import com.fms.backend.dto.auth.AuthServiceResponseDTO;
 import com.fms.backend.dto.auth.LoginRequestDTO;
 import com.fms.backend.exceptions.auth.CustomAuthenticationException;
 import com.fms.backend.exceptions.auth.TokenRefreshException;
-import com.fms.backend.models.Role;
 import com.fms.backend.repositories.UserRepository;
+import com.fms.backend.services.auth.UserClaimsService.UserClaims;
+import io.micrometer.core.annotation.Timed;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
@@ -13,8 +15,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.stream.Collectors;
-
 @Service
 public class AuthService {
 
@@ -22,16 +22,21 @@ public class AuthService {
     private final BCryptPasswordEncoder passwordEncoder;
     private final TokenGeneratorService tokenGeneratorService;
     private final RefreshTokenService refreshTokenService;
+    private final CachingJwtDecoder jwtDecoder;
+    private final UserClaimsService userClaimsService;
 
-    public AuthService(UserRepository userRepository, BCryptPasswordEncoder passwordEncoder, TokenGeneratorService tokenGeneratorService, RefreshTokenService refreshTokenService) {
+    public AuthService(UserRepository userRepository, BCryptPasswordEncoder passwordEncoder, TokenGeneratorService tokenGeneratorService, RefreshTokenService refreshTokenService, CachingJwtDecoder jwtDecoder, UserClaimsService userClaimsService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.tokenGeneratorService = tokenGeneratorService;
         this.refreshTokenService = refreshTokenService;
+        this.jwtDecoder = jwtDecoder;
+        this.userClaimsService = userClaimsService;
     }
 
     private final Logger logger = LoggerFactory.getLogger(AuthService.class.getName());
 
+    @Timed(value = "fms.auth.login", description = "Login com verificação de senha e emissão de tokens", histogram = true)
     @Transactional
     public AuthServiceResponseDTO login(LoginRequestDTO loginRequest, HttpServletRequest request) {
 
@@ -44,12 +49,10 @@ public class AuthService {
             throw new CustomAuthenticationException("Email ou senha inválidos.");
         }
 
-        var scopes = user.getRoles()
-                .stream()
-                .map(Role::getName)
-                .collect(Collectors.joining(" "));
+        // O usuário já foi carregado (com os papéis) para conferir a senha.
+        var claims = UserClaims.of(user);
 
-        var accessToken = tokenGeneratorService.generateAccessToken(user.getId(), user.getEmail(), scopes);
+        var accessToken = tokenGeneratorService.generateAccessToken(user.getId(), claims.email(), claims.scopes());
         var refreshToken = refreshTokenService.createRefreshToken(user.getId(), request);
 
         return new AuthServiceResponseDTO(
@@ -59,6 +62,10 @@ public class AuthService {
                 refreshToken.expirationDate());
     }
 
+    public CacheStatsDTO getTokenCacheStats() {
+        return jwtDecoder.getCacheStats();
+    }
+
     @Transactional
     public AuthServiceResponseDTO updateRefreshToken(String refreshTokenResponse, HttpServletRequest request) {
 
@@ -69,12 +76,10 @@ public class AuthService {
                 () -> new TokenRefreshException("Usuário não encontrado para esse token.")
         );
 
-        var scopes = user.getRoles()
-                .stream()
-                .map(Role::getName)
-                .collect(Collectors.joining(" "));
+        // O usuário do refresh token é um proxy lazy: com o cache, tb_users e os papéis não são consultados.
+        var claims = userClaimsService.getClaims(user);
 
-        var accessToken = tokenGeneratorService.generateAccessToken(user.getId(), user.getEmail(), scopes);
+        var accessToken = tokenGeneratorService.generateAccessToken(user.getId(), claims.email(), claims.scopes());
 
         return new AuthServiceResponseDTO(
                 accessToken.accessToken(),
@@ -0,0 +1,97 @@
+package com.fms.backend.services.auth;
+
+import com.fms.backend.dto.CacheStatsDTO;
+import com.fms.backend.monitoring.jfr.TokenVerificationEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Evita verificar de novo a assinatura de um token já aceito: guarda o {@link Jwt} decodificado,
+ * indexado pelo SHA-256 do token, até o instante do seu {@code exp}.
+ * Tokens sem {@code exp} ou rejeitados pelo decoder nunca entram no cache. Com {@code maxEntries} zero o cache fica desativado.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final Cache<String, Jwt> verifiedTokens;
+
+    public CachingJwtDecoder(JwtDecoder delegate, long maxEntries) {
+        this.delegate = delegate;
+        this.verifiedTokens = maxEntries > 0
+                ? Caffeine.newBuilder()
+                    .maximumSize(maxEntries)
+                    .expireAfter(Expiry.<String, Jwt>creating((key, jwt) -> timeToExpiry(jwt)))
+                    .recordStats()
+                    .build()
+                : null;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        TokenVerificationEvent event = new TokenVerificationEvent();
+        event.begin();
+
+        String key = verifiedTokens != null ? sha256(token) : null;
+        Jwt cached = key != null ? verifiedTokens.getIfPresent(key) : null;
+
+        // A expiração do cache segue o relógio monotônico; o exp é conferido de novo a cada acerto.
+        if (cached != null && cached.getTokenValue().equals(token) && isUnexpired(cached)) {
+            event.finish(true, true);
+            return cached;
+        }
+
+        Jwt jwt;
+        try {
+            jwt = delegate.decode(token);
+        } catch (JwtException e) {
+            event.finish(false, false);
+            throw e;
+        }
+
+        if (key != null && isUnexpired(jwt)) {
+            verifiedTokens.put(key, jwt);
+        }
+        event.finish(false, true);
+        return jwt;
+    }
+
+    public CacheStatsDTO getCacheStats() {
+        if (verifiedTokens == null) {
+            return CacheStatsDTO.of(0, 0, 0, 0);
+        }
+
+        CacheStats stats = verifiedTokens.stats();
+        // Tokens verificados nunca são descartados por alterações no banco, só por tamanho ou expiração.
+        return CacheStatsDTO.of(stats.hitCount(), stats.missCount(), 0, stats.evictionCount());
+    }
+
+    private static boolean isUnexpired(Jwt jwt) {
+        return jwt.getExpiresAt() != null && jwt.getExpiresAt().isAfter(Instant.now());
+    }
+
+    private static Duration timeToExpiry(Jwt jwt) {
+        Duration remaining = Duration.between(Instant.now(), jwt.getExpiresAt());
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    private static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível.", e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.fms.backend.services.auth;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * Hash dos segredos de refresh token com HMAC-SHA256 e chave do servidor.
+ * O segredo já tem 128+ bits aleatórios, então um hash lento (BCrypt) não acrescenta segurança, só CPU.
+ * Linhas antigas, com hash BCrypt ("$2..."), continuam válidas até serem rotacionadas ou expirarem.
+ */
+@Component
+public class RefreshTokenHasher {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_KEY_BYTES = 32;
+
+    private final SecretKeySpec key;
+    private final BCryptPasswordEncoder legacyEncoder;
+
+    /**
+     * @param hashKey Chave HMAC ({@code REFRESH_TOKEN_HASH_KEY}), obrigatória e independente da chave do JWT:
+     *                trocá-la invalida todos os refresh tokens emitidos.
+     */
+    public RefreshTokenHasher(@Value("${jwt.refresh.hash-key}") String hashKey,
+                              BCryptPasswordEncoder legacyEncoder) {
+        this.key = new SecretKeySpec(keyBytes(hashKey), ALGORITHM);
+        this.legacyEncoder = legacyEncoder;
+    }
+
+    public String hash(String rawSecret) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return HexFormat.of().formatHex(mac.doFinal(rawSecret.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 indisponível.", e);
+        }
+    }
+
+    public boolean matches(String rawSecret, String storedHash) {
+        if (storedHash == null) {
+            return false;
+        }
+
+        if (isLegacy(storedHash)) {
+            return legacyEncoder.matches(rawSecret, storedHash);
+        }
+
+        // Comparação em tempo constante.
+        return MessageDigest.isEqual(
+                hash(rawSecret).getBytes(StandardCharsets.US_ASCII),
+                storedHash.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static boolean isLegacy(String storedHash) {
+        return storedHash.startsWith("$2");
+    }
+
+    private static byte[] keyBytes(String hashKey) {
+        if (hashKey == null || hashKey.isBlank()) {
+            throw new IllegalStateException("REFRESH_TOKEN_HASH_KEY não configurada.");
+        }
+
+        byte[] bytes = hashKey.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < MIN_KEY_BYTES) {
+            throw new IllegalStateException("REFRESH_TOKEN_HASH_KEY deve ter pelo menos " + MIN_KEY_BYTES + " bytes.");
+        }
+        return bytes;
+    }
+}
@@ -7,13 +7,13 @@ import com.fms.backend.models.RefreshToken;
 import com.fms.backend.models.User;
 import com.fms.backend.repositories.RefreshTokenRepository;
 import com.fms.backend.repositories.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -29,16 +29,19 @@ public class RefreshTokenService {
     @Value("${jwt.refresh.token-expiration-minutes}")
     private Long refreshTokenExpirationMinutes;
 
+    @Value("${app.schedule.refresh-token-cleanup-batch-size}")
+    private int cleanupBatchSize;
+
     private final RefreshTokenRepository refreshTokenRepository;
     private final UserRepository userRepository;
     private final TokenGeneratorService tokenGeneratorService;
-    private final BCryptPasswordEncoder encoder;
+    private final RefreshTokenHasher hasher;
 
-    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository, TokenGeneratorService tokenGeneratorService, BCryptPasswordEncoder encoder) {
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository, TokenGeneratorService tokenGeneratorService, RefreshTokenHasher hasher) {
         this.refreshTokenRepository = refreshTokenRepository;
         this.userRepository = userRepository;
         this.tokenGeneratorService = tokenGeneratorService;
-        this.encoder = encoder;
+        this.hasher = hasher;
     }
 
     private final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class.getName());
@@ -64,7 +67,7 @@ public class RefreshTokenService {
     }
 
     private RefreshToken saveRefreshToken(User user, String tokenId, String rawSecret, String ipAddress, String userAgent) {
-        String hashed = encoder.encode(rawSecret);
+        String hashed = hasher.hash(rawSecret);
 
         RefreshToken refreshToken = new RefreshToken();
         refreshToken.setUser(user);
@@ -77,6 +80,7 @@ public class RefreshTokenService {
         return refreshTokenRepository.save(refreshToken);
     }
 
+    @Timed(value = "fms.auth.refresh", description = "Rotação do refresh token", histogram = true)
     @Transactional
     public TokenRefreshRequestDTO revokeAndReplace(String compositeToken, HttpServletRequest request) {
 
@@ -99,32 +103,55 @@ public class RefreshTokenService {
 
         var user = refreshTokenDb.getUser();
 
-        if (!encoder.matches(rawSecret, refreshTokenDb.getTokenHash())) {
+        if (!hasher.matches(rawSecret, refreshTokenDb.getTokenHash())) {
             refreshTokenRepository.deleteAllByUserId(user.getId());
             logger.warn("Revoked all tokens for user {} due to invalid refresh token attempt.", user.getId());
             throw new TokenRefreshException("Refresh token inválido.");
         }
 
-        refreshTokenRepository.deleteAllByUserId(user.getId());
+        if (RefreshTokenHasher.isLegacy(refreshTokenDb.getTokenHash())) {
+            logger.info("Replacing legacy BCrypt refresh token for user {} with an HMAC-SHA256 one.", user.getId());
+        }
 
-        String userAgent = request.getHeader("User-Agent");
-        String ipAddress = getClientIpAddress(request);
+        // Mantém apenas a sessão atual do usuário, como antes, mas com um DELETE em lote.
+        refreshTokenRepository.deleteOthersByUserId(user.getId(), refreshTokenDb.getId());
 
         String newTokenId = UUID.randomUUID().toString();
         String newRawSecret = tokenGeneratorService.generateRefreshToken();
-        String newCompositeToken = tokenId + "." + newRawSecret;
-
-        RefreshToken savedRefreshToken = saveRefreshToken(user, newTokenId, newRawSecret, ipAddress, userAgent);
+        String newCompositeToken = newTokenId + "." + newRawSecret;
+        Instant expiryDate = Instant.now().plus(refreshTokenExpirationMinutes, ChronoUnit.MINUTES);
+
+        int rotated = refreshTokenRepository.rotate(
+                refreshTokenDb.getId(),
+                refreshTokenDb.getTokenHash(),
+                newTokenId,
+                hasher.hash(newRawSecret),
+                expiryDate,
+                request.getHeader("User-Agent"),
+                getClientIpAddress(request));
+
+        if (rotated == 0) {
+            throw new TokenRefreshException("Refresh token já utilizado.");
+        }
 
-        return new TokenRefreshRequestDTO(newCompositeToken,  savedRefreshToken.getExpiryDate(), Optional.of(user));
+        return new TokenRefreshRequestDTO(newCompositeToken, expiryDate, Optional.of(user));
     }
 
+    /**
+     * Remove os tokens expirados em lotes de {@code app.schedule.refresh-token-cleanup-batch-size},
+     * com um commit por lote, para não manter uma transação longa nem bloquear muitas linhas de uma vez.
+     */
     @Scheduled(cron = "${app.schedule.refresh-token-cleanup-cron}")
-    @Transactional
     public void deleteExpiredTokens() {
         logger.info("Starting the scheduled cleanup of expired Refresh Tokens....");
 
-        int deletedCount = refreshTokenRepository.deleteByExpiryDateBefore(Instant.now());
+        Instant now = Instant.now();
+        int deletedCount = 0;
+        int deleted;
+        do {
+            deleted = refreshTokenRepository.deleteExpiredBatch(now, cleanupBatchSize);
+            deletedCount += deleted;
+        } while (deleted == cleanupBatchSize);
 
         logger.info("Scheduled cleanup completed. Total expired tokens deleted: {}", deletedCount);
     }
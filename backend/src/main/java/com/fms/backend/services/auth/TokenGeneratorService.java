@@ -1,7 +1,11 @@
 package com.fms.backend.services.auth;
 
 import com.fms.backend.dto.auth.TokenAccessResponseDTO;
+import com.fms.backend.monitoring.jfr.TokenSigningEvent;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
@@ -16,13 +20,18 @@ import java.util.UUID;
 @Service
 public class TokenGeneratorService {
 
-    @Value("${jwt.public.token-expiration-minutes}")
-    private long accessTokenExpirationMinutes;
-
     private final JwtEncoder jwtEncoder;
+    private final JwsHeader jwsHeader;
+    private final String algorithmName;
+    private final long accessTokenExpirationMinutes;
 
-    public TokenGeneratorService(JwtEncoder jwtEncoder) {
+    public TokenGeneratorService(JwtEncoder jwtEncoder,
+                                 @Value("${jwt.signing-algorithm}") SignatureAlgorithm signingAlgorithm,
+                                 @Value("${jwt.public.token-expiration-minutes}") long accessTokenExpirationMinutes) {
         this.jwtEncoder = jwtEncoder;
+        this.jwsHeader = JwsHeader.with(signingAlgorithm).build();
+        this.algorithmName = signingAlgorithm.getName();
+        this.accessTokenExpirationMinutes = accessTokenExpirationMinutes;
     }
 
     public TokenAccessResponseDTO generateAccessToken(UUID userId, String username, String scopes) {
@@ -37,10 +46,13 @@ public class TokenGeneratorService {
                 .claim("scope", scopes)
                 .build();
 
-        return new TokenAccessResponseDTO(
-                jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue(),
-                jwtEncoder.encode(JwtEncoderParameters.from(claims)).getExpiresAt()
-        );
+        // Uma única assinatura por token: valor e expiração vêm do mesmo Jwt.
+        TokenSigningEvent event = new TokenSigningEvent();
+        event.begin();
+        Jwt jwt = jwtEncoder.encode(JwtEncoderParameters.from(jwsHeader, claims));
+        event.finish(algorithmName);
+
+        return new TokenAccessResponseDTO(jwt.getTokenValue(), jwt.getExpiresAt());
     }
 
     public String generateRefreshToken() {
@@ -0,0 +1,59 @@
+package com.fms.backend.services.auth;
+
+import com.fms.backend.events.UserChangedEvent;
+import com.fms.backend.models.Role;
+import com.fms.backend.models.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Cache userId -> (e-mail, scopes) usado para emitir access tokens no refresh sem carregar o usuário e os seus papéis.
+ * As entradas são descartadas após o commit de qualquer alteração do usuário.
+ */
+@Service
+public class UserClaimsService {
+
+    public record UserClaims(String email, String scopes) {
+
+        public static UserClaims of(User user) {
+            String scopes = user.getRoles()
+                    .stream()
+                    .map(Role::getName)
+                    .collect(Collectors.joining(" "));
+
+            return new UserClaims(user.getEmail(), scopes);
+        }
+    }
+
+    private final Cache<UUID, UserClaims> claimsByUser;
+
+    public UserClaimsService(@Value("${app.user-claims.cache.max-entries}") long maxEntries,
+                             @Value("${app.user-claims.cache.ttl}") Duration ttl) {
+        this.claimsByUser = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Claims do usuário pelo cache. Na falta, inicializa o usuário (que pode ser um proxy lazy), portanto
+     * deve ser chamado dentro da transação que o carregou.
+     */
+    public UserClaims getClaims(User user) {
+        return claimsByUser.get(user.getId(), userId -> UserClaims.of(user));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        claimsByUser.invalidate(event.userId());
+    }
+}
@@ -0,0 +1,16 @@
+-- Sequências com incremento 50 (otimizador "pooled" do Hibernate) para permitir inserts em lote
+-- em tb_sales e tb_sale_items. Colunas IDENTITY impedem o batching do JDBC.
+
+CREATE SEQUENCE tb_sales_seq INCREMENT BY 50;
+CREATE SEQUENCE tb_sale_items_seq INCREMENT BY 50;
+
+SELECT setval('tb_sales_seq', COALESCE((SELECT MAX(sale_id) FROM tb_sales), 0) + 50, false);
+SELECT setval('tb_sale_items_seq', COALESCE((SELECT MAX(sale_item_id) FROM tb_sale_items), 0) + 50, false);
+
+ALTER TABLE tb_sales ALTER COLUMN sale_id DROP IDENTITY;
+ALTER TABLE tb_sales ALTER COLUMN sale_id SET DEFAULT nextval('tb_sales_seq');
+ALTER SEQUENCE tb_sales_seq OWNED BY tb_sales.sale_id;
+
+ALTER TABLE tb_sale_items ALTER COLUMN sale_item_id DROP IDENTITY;
+ALTER TABLE tb_sale_items ALTER COLUMN sale_item_id SET DEFAULT nextval('tb_sale_items_seq');
+ALTER SEQUENCE tb_sale_items_seq OWNED BY tb_sale_items.sale_item_id;
@@ -0,0 +1,43 @@
+-- Agregados diários usados pelo dashboard, mantidos incrementalmente pela aplicação
+-- a cada venda registrada, alterada ou removida. Datas em UTC.
+
+-- Categoria do produto no momento da venda. O agregado dia x canal x categoria é gravado com ela,
+-- então a exclusão ou alteração da venda estorna exatamente a mesma categoria,
+-- mesmo que o produto tenha sido movido de categoria depois.
+-- Sem chave estrangeira: é um registro histórico, como tb_sales_daily_category.
+ALTER TABLE tb_sale_items ADD COLUMN category_id bigint;
+
+UPDATE tb_sale_items si
+SET category_id = p.category_id
+FROM tb_products p
+WHERE p.product_id = si.product_id;
+
+ALTER TABLE tb_sale_items ALTER COLUMN category_id SET NOT NULL;
+
+CREATE TABLE tb_sales_daily_channel(
+    sale_day date NOT NULL,
+    sale_channel varchar(30) NOT NULL,
+    sales_count bigint NOT NULL,
+    revenue numeric(14,2) NOT NULL,
+    PRIMARY KEY(sale_day, sale_channel)
+);
+
+-- Com o canal, o dashboard pode filtrar itens vendidos por canal.
+CREATE TABLE tb_sales_daily_category(
+    sale_day date NOT NULL,
+    sale_channel varchar(30) NOT NULL,
+    category_id bigint NOT NULL,
+    items_sold bigint NOT NULL,
+    PRIMARY KEY(sale_day, sale_channel, category_id)
+);
+
+INSERT INTO tb_sales_daily_channel (sale_day, sale_channel, sales_count, revenue)
+SELECT (s.sale_date AT TIME ZONE 'UTC')::date, s.sale_channel, COUNT(*), SUM(s.total_value)
+FROM tb_sales s
+GROUP BY 1, 2;
+
+INSERT INTO tb_sales_daily_category (sale_day, sale_channel, category_id, items_sold)
+SELECT (s.sale_date AT TIME ZONE 'UTC')::date, s.sale_channel, si.category_id, SUM(si.quantity)
+FROM tb_sale_items si
+JOIN tb_sales s ON s.sale_id = si.sale_id
+GROUP BY 1, 2, 3;
@@ -0,0 +1,8 @@
+-- Índices para o filtro de vendas por categoria (EXISTS em tb_sale_items/tb_products).
+
+-- Sondagem dos itens de cada venda, percorrendo tb_sales pela PK em ordem decrescente.
+CREATE INDEX IF NOT EXISTS idx_sale_items_sale_product ON tb_sale_items (sale_id, product_id);
+
+-- Caminho inverso, usado quando a categoria é rara: produtos da categoria -> itens -> vendas.
+CREATE INDEX IF NOT EXISTS idx_sale_items_product_sale ON tb_sale_items (product_id, sale_id);
+CREATE INDEX IF NOT EXISTS idx_products_category ON tb_products (category_id);
@@ -0,0 +1,9 @@
+-- Busca de vendas por cliente sem diferenciar maiúsculas/minúsculas.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Trigramas: atendem LIKE '%termo%' e 'termo%' sobre lower(client) com termos de 3+ caracteres.
+CREATE INDEX IF NOT EXISTS idx_sales_client_trgm ON tb_sales USING gin (lower(client) gin_trgm_ops);
+
+-- B-tree para prefixos curtos (menos de 3 caracteres), que os trigramas não conseguem filtrar.
+CREATE INDEX IF NOT EXISTS idx_sales_client_lower_prefix ON tb_sales (lower(client) text_pattern_ops);
@@ -0,0 +1,55 @@
+-- Busca textual de produtos: tsvector mantido por trigger sobre nome, categoria, cor e descrição.
+-- Pesos: nome (A) > categoria e cor (B) > descrição (C).
+
+ALTER TABLE tb_products ADD COLUMN search_vector tsvector;
+
+CREATE OR REPLACE FUNCTION fn_product_search_vector(p_name text, p_category text, p_color text, p_description text)
+RETURNS tsvector AS $$
+    SELECT setweight(to_tsvector('portuguese', coalesce(p_name, '')), 'A')
+        || setweight(to_tsvector('portuguese', coalesce(p_category, '')), 'B')
+        || setweight(to_tsvector('portuguese', coalesce(p_color, '')), 'B')
+        || setweight(to_tsvector('portuguese', coalesce(p_description, '')), 'C');
+$$ LANGUAGE sql IMMUTABLE;
+
+-- O nome da categoria está em outra tabela, por isso o vetor não pode ser uma coluna gerada.
+CREATE OR REPLACE FUNCTION trg_products_search_vector()
+RETURNS trigger AS $$
+BEGIN
+    NEW.search_vector := fn_product_search_vector(
+        NEW.name,
+        (SELECT c.name FROM tb_categories c WHERE c.id = NEW.category_id),
+        NEW.color,
+        NEW.description);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER products_search_vector
+    BEFORE INSERT OR UPDATE OF name, description, color, category_id ON tb_products
+    FOR EACH ROW EXECUTE FUNCTION trg_products_search_vector();
+
+-- Renomear uma categoria reindexa os seus produtos.
+CREATE OR REPLACE FUNCTION trg_categories_search_vector()
+RETURNS trigger AS $$
+BEGIN
+    UPDATE tb_products p
+    SET search_vector = fn_product_search_vector(p.name, NEW.name, p.color, p.description)
+    WHERE p.category_id = NEW.id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER categories_search_vector
+    AFTER UPDATE OF name ON tb_categories
+    FOR EACH ROW WHEN (OLD.name IS DISTINCT FROM NEW.name)
+    EXECUTE FUNCTION trg_categories_search_vector();
+
+UPDATE tb_products p
+SET search_vector = fn_product_search_vector(p.name, c.name, p.color, p.description)
+FROM tb_categories c
+WHERE c.id = p.category_id;
+
+CREATE INDEX IF NOT EXISTS idx_products_search_vector ON tb_products USING gin (search_vector);
+
+-- Filtros de faixa de preço combinados com a busca.
+CREATE INDEX IF NOT EXISTS idx_products_price ON tb_products (price);
@@ -0,0 +1,10 @@
+-- Índices de tb_tokens para o fluxo de refresh e a limpeza agendada.
+
+-- findByToken: busca pontual pelo ID público do token (já declarado único na entidade).
+CREATE UNIQUE INDEX IF NOT EXISTS idx_tokens_token ON tb_tokens (token);
+
+-- Revogação de todos os tokens de um usuário.
+CREATE INDEX IF NOT EXISTS idx_tokens_user ON tb_tokens (user_id);
+
+-- Limpeza de tokens expirados em lotes.
+CREATE INDEX IF NOT EXISTS idx_tokens_expiry_date ON tb_tokens (expiry_date);
@@ -0,0 +1,19 @@
+-- Índices das chaves estrangeiras e das buscas por nome/e-mail que o V1 não criou.
+-- Já cobertos por migrações anteriores:
+--   tb_sale_items(sale_id)     -> idx_sale_items_sale_product (V5)
+--   tb_sale_items(product_id)  -> idx_sale_items_product_sale (V5)
+--   tb_products(category_id)   -> idx_products_category (V5)
+--   tb_tokens(user_id)         -> idx_tokens_user (V8)
+
+-- Login (findByEmail) e cadastro; o e-mail já é declarado único na entidade, mas o V1 não criou a restrição.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_users_email ON tb_users (email);
+
+-- findByName de categorias e papéis (nomes também declarados únicos nas entidades).
+CREATE UNIQUE INDEX IF NOT EXISTS uk_categories_name ON tb_categories (name);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_roles_name ON tb_roles (name);
+
+-- Papéis do usuário (carregados junto com ele): a PK de tb_users_roles começa por role_id.
+CREATE INDEX IF NOT EXISTS idx_users_roles_user ON tb_users_roles (user_id);
+
+-- Verificação de nome duplicado em ProductService.create/patch.
+CREATE INDEX IF NOT EXISTS idx_products_name ON tb_products (name);
@@ -0,0 +1,284 @@
+package com.fms.backend.repositories;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fms.backend.monitoring.ExecutedStatement;
+import com.fms.backend.support.SqlStatements;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Confere, com EXPLAIN sobre uma massa de dados gerada, que as buscas principais dos repositórios
+ * usam índices em vez de varrer a tabela inteira. Cada teste chama o repositório, captura o SQL gerado
+ * pelo Hibernate com os parâmetros usados ({@link SqlStatements#capture}) e analisa o plano desse mesmo SQL.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfEnvironmentVariable(named = "DB_URL", matches = ".+")
+class QueryPlanIndexTests {
+
+    private static final String PREFIX = "explain-";
+    private static final int CATEGORIES = 20;
+    private static final int PRODUCTS = 20_000;
+    private static final int SALES = 100_000;
+    private static final int USERS = 20_000;
+
+    // Agregados do dashboard em dias sem vendas reais (1901 a 1905), removidos pelo intervalo ao final.
+    private static final LocalDate ROLLUP_FIRST_DAY = LocalDate.of(1901, 1, 1);
+    private static final int ROLLUP_DAYS = 1_826;
+    private static final LocalDate DASHBOARD_FROM = LocalDate.of(1903, 3, 1);
+    private static final LocalDate DASHBOARD_TO = LocalDate.of(1903, 3, 31);
+
+    private static final Pageable SALE_PAGE = PageRequest.of(0, 20, Sort.by("id").descending());
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SaleRepository saleRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private SaleDailyChannelRepository saleDailyChannelRepository;
+
+    @Autowired
+    private SaleDailyCategoryRepository saleDailyCategoryRepository;
+
+    private UUID userId;
+    private long categoryId;
+    private List<Long> saleIds;
+
+    @BeforeAll
+    void generateData() {
+        jdbcTemplate.update("INSERT INTO tb_categories (name) " +
+                "SELECT '" + PREFIX + "cat-' || g FROM generate_series(1, ?) g", CATEGORIES);
+
+        jdbcTemplate.update("INSERT INTO tb_products (name, description, color, price, quantity_stock, category_id, created_at, updated_at) " +
+                "SELECT '" + PREFIX + "product-' || g, 'lote' || g, 'Preto', 10 + g % 500, 100, c.id, now(), now() " +
+                "FROM generate_series(1, ?) g JOIN tb_categories c ON c.name = '" + PREFIX + "cat-' || (g % ? + 1)",
+                PRODUCTS, CATEGORIES);
+
+        jdbcTemplate.update("INSERT INTO tb_sales (client, sale_channel, sale_date, total_value) " +
+                "SELECT '" + PREFIX + "client-' || g, 'LOCAL', now() - g * interval '1 minute', 10 " +
+                "FROM generate_series(1, ?) g", SALES);
+
+        jdbcTemplate.update("INSERT INTO tb_sale_items (sale_id, product_id, category_id, quantity, unit_at_price, sub_total) " +
+                "SELECT s.sale_id, p.product_id, p.category_id, 1, 10, 10 " +
+                "FROM (SELECT sale_id, row_number() OVER () AS rn FROM tb_sales WHERE client LIKE '" + PREFIX + "%') s " +
+                "JOIN (SELECT product_id, category_id, row_number() OVER () - 1 AS rn FROM tb_products WHERE name LIKE '" + PREFIX + "%') p " +
+                "ON p.rn = s.rn % ?", PRODUCTS);
+
+        jdbcTemplate.update("INSERT INTO tb_users (user_id, email, password, name, enabled, created_at, updated_at) " +
+                "SELECT gen_random_uuid(), '" + PREFIX + "' || g || '@test.com', 'x', 'Usuário ' || g, true, now(), now() " +
+                "FROM generate_series(1, ?) g", USERS);
+
+        jdbcTemplate.update("INSERT INTO tb_users_roles (user_id, role_id) " +
+                "SELECT u.user_id, r.role_id FROM tb_users u JOIN tb_roles r ON r.name = 'BASIC' " +
+                "WHERE u.email LIKE '" + PREFIX + "%'");
+
+        jdbcTemplate.update("INSERT INTO tb_tokens (user_id, token, token_hash, expiry_date) " +
+                "SELECT user_id, '" + PREFIX + "token-' || row_number() OVER (), 'hash', now() + interval '1 day' " +
+                "FROM tb_users WHERE email LIKE '" + PREFIX + "%'");
+
+        jdbcTemplate.update("INSERT INTO tb_sales_daily_channel (sale_day, sale_channel, sales_count, revenue) " +
+                "SELECT CAST(? AS date) + g, ch, 1, 10 " +
+                "FROM generate_series(0, ? - 1) g CROSS JOIN unnest(ARRAY['SHOPEE', 'LOCAL', 'INSTAGRAM', 'WHATSAPP']) ch " +
+                "ON CONFLICT DO NOTHING", ROLLUP_FIRST_DAY, ROLLUP_DAYS);
+
+        jdbcTemplate.update("INSERT INTO tb_sales_daily_category (sale_day, sale_channel, category_id, items_sold) " +
+                "SELECT CAST(? AS date) + g, ch, c.id, 1 " +
+                "FROM generate_series(0, ? - 1) g CROSS JOIN unnest(ARRAY['SHOPEE', 'LOCAL', 'INSTAGRAM', 'WHATSAPP']) ch " +
+                "CROSS JOIN tb_categories c WHERE c.name LIKE '" + PREFIX + "%' " +
+                "ON CONFLICT DO NOTHING", ROLLUP_FIRST_DAY, ROLLUP_DAYS);
+
+        for (String table : List.of("tb_categories", "tb_products", "tb_sales", "tb_sale_items", "tb_users", "tb_users_roles",
+                "tb_tokens", "tb_sales_daily_channel", "tb_sales_daily_category")) {
+            jdbcTemplate.execute("ANALYZE " + table);
+        }
+
+        userId = jdbcTemplate.queryForObject("SELECT user_id FROM tb_users WHERE email = ?", UUID.class, PREFIX + "777@test.com");
+        categoryId = jdbcTemplate.queryForObject("SELECT id FROM tb_categories WHERE name = ?", Long.class, PREFIX + "cat-7");
+        saleIds = jdbcTemplate.queryForList("SELECT sale_id FROM tb_sales WHERE client LIKE '" + PREFIX + "%' " +
+                "ORDER BY sale_id DESC LIMIT 20", Long.class);
+    }
+
+    @AfterAll
+    void removeData() {
+        jdbcTemplate.update("DELETE FROM tb_sales_daily_category WHERE category_id IN " +
+                "(SELECT id FROM tb_categories WHERE name LIKE '" + PREFIX + "%')");
+        jdbcTemplate.update("DELETE FROM tb_sales_daily_channel WHERE sale_day BETWEEN CAST(? AS date) AND CAST(? AS date) + ? - 1",
+                ROLLUP_FIRST_DAY, ROLLUP_FIRST_DAY, ROLLUP_DAYS);
+        jdbcTemplate.update("DELETE FROM tb_tokens WHERE token LIKE '" + PREFIX + "%'");
+        jdbcTemplate.update("DELETE FROM tb_users_roles WHERE user_id IN (SELECT user_id FROM tb_users WHERE email LIKE '" + PREFIX + "%')");
+        jdbcTemplate.update("DELETE FROM tb_users WHERE email LIKE '" + PREFIX + "%'");
+        jdbcTemplate.update("DELETE FROM tb_sale_items WHERE sale_id IN (SELECT sale_id FROM tb_sales WHERE client LIKE '" + PREFIX + "%')");
+        jdbcTemplate.update("DELETE FROM tb_sales WHERE client LIKE '" + PREFIX + "%'");
+        jdbcTemplate.update("DELETE FROM tb_products WHERE name LIKE '" + PREFIX + "%'");
+        jdbcTemplate.update("DELETE FROM tb_categories WHERE name LIKE '" + PREFIX + "%'");
+    }
+
+    @Test
+    void userByEmailUsesIndex() throws Throwable {
+        assertIndexScan(() -> userRepository.findByEmail(PREFIX + "777@test.com"),
+                "tb_users", "uk_users_email");
+    }
+
+    @Test
+    void userRolesUseIndex() throws Throwable {
+        assertIndexScan(() -> userRepository.findByEmail(PREFIX + "777@test.com"),
+                "tb_users_roles", "idx_users_roles_user");
+    }
+
+    @Test
+    void productByNameUsesIndex() throws Throwable {
+        assertIndexScan(() -> productRepository.findByName(PREFIX + "product-777"),
+                "tb_products", "idx_products_name");
+    }
+
+    @Test
+    void productSearchUsesIndex() throws Throwable {
+        assertIndexScan(() -> productRepository.searchIds("lote777", null, null, null, false, PageRequest.of(0, 20)),
+                "tb_products", "idx_products_search_vector");
+    }
+
+    @Test
+    void saleItemsBySaleUseIndex() throws Throwable {
+        assertIndexScan(() -> saleRepository.findAllWithItemsByIdIn(saleIds),
+                "tb_sale_items", "idx_sale_items_sale_product");
+    }
+
+    @Test
+    void salesByProductCategoryUseIndex() throws Throwable {
+        // O planejador pode sondar os itens a partir das vendas ou partir dos produtos da categoria.
+        assertIndexScan(() -> saleRepository.findPageIdsByProductCategory(categoryId, SALE_PAGE),
+                "tb_sale_items", "idx_sale_items_sale_product", "idx_sale_items_product_sale");
+    }
+
+    @Test
+    void salesByClientExactUseIndex() throws Throwable {
+        assertIndexScan(() -> saleRepository.findPageIdsByClient(PREFIX + "client-4242", SALE_PAGE),
+                "tb_sales", "idx_sales_client_lower_prefix");
+    }
+
+    @Test
+    void salesByClientContainsUseIndex() throws Throwable {
+        assertIndexScan(() -> saleRepository.findPageIdsByClientLike("%client-4242%", SALE_PAGE),
+                "tb_sales", "idx_sales_client_trgm");
+    }
+
+    @Test
+    void refreshTokenByTokenUsesIndex() throws Throwable {
+        assertIndexScan(() -> refreshTokenRepository.findByToken(PREFIX + "token-777"),
+                "tb_tokens", "idx_tokens_token");
+    }
+
+    @Test
+    void refreshTokensByUserUseIndex() throws Throwable {
+        // DELETE em uma transação desfeita: só o SQL interessa, a massa de dados fica intacta.
+        assertIndexScan(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    refreshTokenRepository.deleteAllByUserId(userId);
+                    status.setRollbackOnly();
+                }),
+                "tb_tokens", "idx_tokens_user");
+    }
+
+    @Test
+    void dashboardSalesByChannelUseIndex() throws Throwable {
+        assertIndexScan(() -> saleDailyChannelRepository.countSalesByChannel(DASHBOARD_FROM, DASHBOARD_TO, null),
+                "tb_sales_daily_channel", "tb_sales_daily_channel_pkey");
+    }
+
+    @Test
+    void dashboardTotalsUseIndex() throws Throwable {
+        assertIndexScan(() -> saleDailyChannelRepository.sumTotals(DASHBOARD_FROM, DASHBOARD_TO, null),
+                "tb_sales_daily_channel", "tb_sales_daily_channel_pkey");
+    }
+
+    @Test
+    void dashboardRevenueByPeriodUseIndex() throws Throwable {
+        assertIndexScan(() -> saleDailyChannelRepository.sumRevenueByPeriod("day", DASHBOARD_FROM, DASHBOARD_TO, null),
+                "tb_sales_daily_channel", "tb_sales_daily_channel_pkey");
+    }
+
+    @Test
+    void dashboardItemsByCategoryUseIndex() throws Throwable {
+        assertIndexScan(() -> saleDailyCategoryRepository.sumItemsSoldByCategory(DASHBOARD_FROM, DASHBOARD_TO, null),
+                "tb_sales_daily_category", "tb_sales_daily_category_pkey");
+    }
+
+    /**
+     * Executa a chamada ao repositório e analisa o plano do primeiro statement gerado que acessa a tabela
+     * (em listagens paginadas, a consulta da página, executada antes do COUNT).
+     */
+    private void assertIndexScan(Executable repositoryCall, String table, String... indexes) throws Throwable {
+        List<ExecutedStatement> statements = SqlStatements.capture(repositoryCall);
+        Pattern tableName = Pattern.compile("\\b" + table + "\\b");
+        ExecutedStatement statement = statements.stream()
+                .filter(executed -> tableName.matcher(executed.getSql()).find())
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Nenhum statement acessou " + table + ": " + statements));
+
+        List<JsonNode> nodes = plan(statement);
+        List<String> expected = Arrays.asList(indexes);
+
+        assertFalse(nodes.stream().anyMatch(node -> "Seq Scan".equals(node.path("Node Type").asText())
+                        && table.equals(node.path("Relation Name").asText())),
+                () -> "Seq Scan em " + table + " para " + statement + ": " + nodes);
+        assertTrue(nodes.stream().anyMatch(node -> expected.contains(node.path("Index Name").asText())),
+                () -> "Índice " + expected + " não utilizado por " + statement + ": " + nodes);
+    }
+
+    private List<JsonNode> plan(ExecutedStatement statement) {
+        String json = jdbcTemplate.query("EXPLAIN (FORMAT JSON) " + statement.getSql(), statement::bindParameters,
+                rs -> rs.next() ? rs.getString(1) : null);
+        try {
+            List<JsonNode> nodes = new ArrayList<>();
+            collect(objectMapper.readTree(json).get(0).get("Plan"), nodes);
+            return nodes;
+        } catch (Exception e) {
+            throw new IllegalStateException("Plano inválido: " + json, e);
+        }
+    }
+
+    private void collect(JsonNode node, List<JsonNode> nodes) {
+        nodes.add(node);
+        for (JsonNode child : node.path("Plans")) {
+            collect(child, nodes);
+        }
+    }
+}
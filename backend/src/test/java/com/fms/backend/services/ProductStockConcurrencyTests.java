@@ -0,0 +1,121 @@
+package com.fms.backend.services;
+
+import com.fms.backend.dto.SaleItemRequestDTO;
+import com.fms.backend.exceptions.validation.ValidationException;
+import com.fms.backend.models.Product;
+import com.fms.backend.models.enums.SaleChannel;
+import com.fms.backend.repositories.CategoryRepository;
+import com.fms.backend.repositories.ProductRepository;
+import com.fms.backend.support.CatalogFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "DB_URL", matches = ".+")
+class ProductStockConcurrencyTests {
+
+    private static final int INITIAL_STOCK = 50;
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS = 200;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private SaleService saleService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private CatalogFixture fixture;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new CatalogFixture(categoryRepository, productRepository, saleService, jdbcTemplate, "stress");
+        product = fixture.createProduct(fixture.createCategory(), INITIAL_STOCK);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    void concurrentStockDecrementsNeverOversell() throws Exception {
+        int sold = runConcurrently(() -> productService.updateStock(product.getId(), 1));
+
+        assertEquals(INITIAL_STOCK, sold);
+        assertEquals(0, productRepository.findById(product.getId()).orElseThrow().getQuantityStock());
+    }
+
+    @Test
+    void concurrentSalesAcrossChannelsNeverOversell() throws Exception {
+        SaleChannel[] channels = SaleChannel.values();
+        AtomicInteger sequence = new AtomicInteger();
+
+        int sold = runConcurrently(() -> fixture.registerSale(
+                channels[sequence.getAndIncrement() % channels.length],
+                Instant.now(),
+                List.of(new SaleItemRequestDTO(product.getId(), 1))
+        ));
+
+        assertEquals(INITIAL_STOCK, sold);
+        assertEquals(INITIAL_STOCK, fixture.sales().size());
+        assertEquals(0, productRepository.findById(product.getId()).orElseThrow().getQuantityStock());
+    }
+
+    private int runConcurrently(Runnable sale) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        List<Throwable> unexpected = new ArrayList<>();
+
+        for (int i = 0; i < ATTEMPTS; i++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    sale.run();
+                    succeeded.incrementAndGet();
+                } catch (ValidationException ignored) {
+                    // Estoque esgotado: comportamento esperado para as tentativas excedentes.
+                } catch (Throwable ex) {
+                    synchronized (unexpected) {
+                        unexpected.add(ex);
+                    }
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected);
+
+        return succeeded.get();
+    }
+}
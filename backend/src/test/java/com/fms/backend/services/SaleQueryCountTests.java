@@ -0,0 +1,110 @@
+package com.fms.backend.services;
+
+import com.fms.backend.dto.SaleItemRequestDTO;
+import com.fms.backend.dto.SaleResponseDTO;
+import com.fms.backend.models.Category;
+import com.fms.backend.models.enums.ClientMatchMode;
+import com.fms.backend.models.enums.SaleChannel;
+import com.fms.backend.repositories.CategoryRepository;
+import com.fms.backend.repositories.ProductRepository;
+import com.fms.backend.support.CatalogFixture;
+import com.fms.backend.support.SqlStatements;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@EnabledIfEnvironmentVariable(named = "DB_URL", matches = ".+")
+class SaleQueryCountTests {
+
+    private static final int SALES = 10;
+    private static final int ITEMS_PER_SALE = 3;
+
+    @Autowired
+    private SaleService saleService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private CatalogFixture fixture;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new CatalogFixture(categoryRepository, productRepository, saleService, jdbcTemplate, "count");
+        category = fixture.createCategory();
+
+        List<SaleItemRequestDTO> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS_PER_SALE; i++) {
+            items.add(new SaleItemRequestDTO(fixture.createProduct(category, SALES).getId(), 1));
+        }
+
+        for (int i = 0; i < SALES; i++) {
+            fixture.registerSale(SaleChannel.LOCAL, Instant.now(), items);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    void listingAPageOfSalesUsesAFixedNumberOfStatements() throws Throwable {
+        // página de IDs + COUNT + vendas/itens/produtos
+        SqlStatements.assertMaxStatementCount(3, () -> {
+            Page<SaleResponseDTO> page = saleService.findAll(category.getId(), null, ClientMatchMode.EXACT, 0, SALES);
+
+            assertEquals(SALES, page.getContent().size());
+            page.getContent().forEach(sale -> assertEquals(ITEMS_PER_SALE, sale.items().size()));
+        });
+    }
+
+    @Test
+    void listingSalesEndpointStaysWithinStatementBudget() throws Throwable {
+        SqlStatements.assertMaxStatementCount(3, () -> mockMvc.perform(get("/api/sale")
+                        .param("categoryId", category.getId().toString())
+                        .param("size", String.valueOf(SALES))
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(SALES))
+                .andExpect(header().exists("Server-Timing")));
+    }
+
+    @Test
+    void findingOneSaleUsesASingleStatement() throws Throwable {
+        SqlStatements.assertStatementCount(1, () -> {
+            SaleResponseDTO sale = saleService.findById(fixture.sales().get(0));
+
+            assertEquals(ITEMS_PER_SALE, sale.items().size());
+        });
+    }
+}
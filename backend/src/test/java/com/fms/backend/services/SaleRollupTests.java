@@ -0,0 +1,82 @@
+package com.fms.backend.services;
+
+import com.fms.backend.dto.SaleItemRequestDTO;
+import com.fms.backend.models.Category;
+import com.fms.backend.models.Product;
+import com.fms.backend.models.enums.SaleChannel;
+import com.fms.backend.repositories.CategoryRepository;
+import com.fms.backend.repositories.ProductRepository;
+import com.fms.backend.support.CatalogFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "DB_URL", matches = ".+")
+class SaleRollupTests {
+
+    @Autowired
+    private SaleService saleService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private CatalogFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new CatalogFixture(categoryRepository, productRepository, saleService, jdbcTemplate, "rollup");
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    void deletingASaleAfterTheProductChangedCategoryReversesTheOriginalCategory() {
+        Category original = fixture.createCategory();
+        Category moved = fixture.createCategory();
+        Product product = fixture.createProduct(original, 10);
+
+        Long oldSale = fixture.registerSale(SaleChannel.LOCAL, Instant.now(),
+                List.of(new SaleItemRequestDTO(product.getId(), 3))).id();
+
+        Product reloaded = productRepository.findById(product.getId()).orElseThrow();
+        reloaded.setCategory(moved);
+        productRepository.save(reloaded);
+
+        fixture.registerSale(SaleChannel.LOCAL, Instant.now(), List.of(new SaleItemRequestDTO(product.getId(), 2)));
+
+        assertEquals(3, itemsSold(original));
+        assertEquals(2, itemsSold(moved));
+
+        saleService.delete(oldSale);
+        fixture.forgetSale(oldSale);
+
+        assertEquals(0, itemsSold(original));
+        assertEquals(2, itemsSold(moved));
+    }
+
+    private long itemsSold(Category category) {
+        Long itemsSold = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(items_sold), 0) FROM tb_sales_daily_category WHERE category_id = ?",
+                Long.class, category.getId());
+        return itemsSold != null ? itemsSold : 0;
+    }
+}
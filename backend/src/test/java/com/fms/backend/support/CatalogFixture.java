@@ -0,0 +1,119 @@
+package com.fms.backend.support;
+
+import com.fms.backend.dto.SaleItemRequestDTO;
+import com.fms.backend.dto.SaleRequestDTO;
+import com.fms.backend.dto.SaleResponseDTO;
+import com.fms.backend.models.Category;
+import com.fms.backend.models.Product;
+import com.fms.backend.models.enums.SaleChannel;
+import com.fms.backend.repositories.CategoryRepository;
+import com.fms.backend.repositories.ProductRepository;
+import com.fms.backend.services.SaleService;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Categorias, produtos e vendas criados por um teste de integração, removidos em {@link #cleanUp()}
+ * na ordem inversa das chaves estrangeiras (vendas, produtos, categorias), junto com as linhas de
+ * rollup diário que as vendas criaram.
+ * O registro de vendas pode ser chamado de várias threads.
+ */
+public class CatalogFixture {
+
+    public static final BigDecimal PRICE = new BigDecimal("10.00");
+
+    private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+    private final SaleService saleService;
+    private final JdbcTemplate jdbcTemplate;
+    private final String prefix;
+
+    private final List<Long> categories = new ArrayList<>();
+    private final List<Long> products = new ArrayList<>();
+    private final Queue<Long> sales = new ConcurrentLinkedQueue<>();
+    private final Set<DayChannel> saleDays = ConcurrentHashMap.newKeySet();
+
+    public CatalogFixture(CategoryRepository categoryRepository, ProductRepository productRepository,
+                          SaleService saleService, JdbcTemplate jdbcTemplate, String prefix) {
+        this.categoryRepository = categoryRepository;
+        this.productRepository = productRepository;
+        this.saleService = saleService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.prefix = prefix;
+    }
+
+    public Category createCategory() {
+        Category category = new Category();
+        category.setName(prefix + "-" + UUID.randomUUID().toString().substring(0, 8));
+        category = categoryRepository.save(category);
+        categories.add(category.getId());
+        return category;
+    }
+
+    public Product createProduct(Category category, int stock) {
+        Product product = new Product();
+        product.setName(prefix + "-" + UUID.randomUUID());
+        product.setPrice(PRICE);
+        product.setQuantityStock(stock);
+        product.setCategory(category);
+        product.setCreatedAt(Instant.now());
+        product.setUpdatedAt(Instant.now());
+        product = productRepository.save(product);
+        products.add(product.getId());
+        return product;
+    }
+
+    public SaleResponseDTO registerSale(SaleChannel channel, Instant saleDate, List<SaleItemRequestDTO> items) {
+        SaleRequestDTO dto = new SaleRequestDTO(prefix, channel, items);
+        dto.setSaleDate(saleDate);
+
+        SaleResponseDTO sale = saleService.registerSale(dto);
+        sales.add(sale.id());
+        saleDays.add(new DayChannel(LocalDate.ofInstant(saleDate, ZoneOffset.UTC), channel));
+        return sale;
+    }
+
+    public List<Long> sales() {
+        return List.copyOf(sales);
+    }
+
+    /**
+     * Remove uma venda já excluída pelo próprio teste da lista de limpeza.
+     */
+    public void forgetSale(Long saleId) {
+        sales.remove(saleId);
+    }
+
+    /**
+     * A exclusão das vendas já desconta os rollups; aqui saem as linhas que ficaram zeradas. As de categoria
+     * só recebem vendas do fixture, já as de canal são compartilhadas e só saem se nenhuma outra venda as usa.
+     */
+    public void cleanUp() {
+        sales.forEach(saleService::delete);
+        sales.clear();
+        categories.forEach(id -> jdbcTemplate.update("DELETE FROM tb_sales_daily_category WHERE category_id = ?", id));
+        saleDays.forEach(day -> jdbcTemplate.update(
+                "DELETE FROM tb_sales_daily_channel WHERE sale_day = ? AND sale_channel = ? AND sales_count = 0",
+                Date.valueOf(day.day()), day.channel().name()));
+        saleDays.clear();
+        products.forEach(productRepository::deleteById);
+        products.clear();
+        categories.forEach(categoryRepository::deleteById);
+        categories.clear();
+    }
+
+    private record DayChannel(LocalDate day, SaleChannel channel) {
+    }
+}
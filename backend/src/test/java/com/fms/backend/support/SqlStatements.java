@@ -0,0 +1,59 @@
+package com.fms.backend.support;
+
+import com.fms.backend.monitoring.ExecutedStatement;
+import com.fms.backend.monitoring.SqlStatementStats;
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Conta os statements SQL executados na thread do teste, seja chamando serviços diretamente ou
+ * requisições via MockMvc (que rodam na mesma thread).
+ */
+public final class SqlStatements {
+
+    private static final int REPORTED_FINGERPRINTS = 10;
+
+    private SqlStatements() {
+    }
+
+    public static SqlStatementStats record(Executable action) throws Throwable {
+        SqlStatementStats stats = SqlStatementStats.start();
+        try {
+            action.execute();
+        } finally {
+            stats.stop();
+        }
+        return stats;
+    }
+
+    /**
+     * Statements preparados executados pela ação, com os parâmetros usados, na ordem de execução.
+     */
+    public static List<ExecutedStatement> capture(Executable action) throws Throwable {
+        SqlStatementStats stats = SqlStatementStats.startCapturing();
+        try {
+            action.execute();
+        } finally {
+            stats.stop();
+        }
+        return stats.getExecutedStatements();
+    }
+
+    public static void assertStatementCount(int expected, Executable action) throws Throwable {
+        SqlStatementStats stats = record(action);
+        assertEquals(expected, stats.getStatementCount(), () -> describe(stats));
+    }
+
+    public static void assertMaxStatementCount(int max, Executable action) throws Throwable {
+        SqlStatementStats stats = record(action);
+        assertTrue(stats.getStatementCount() <= max, () -> describe(stats));
+    }
+
+    private static String describe(SqlStatementStats stats) {
+        return "Statements executed: " + stats.getStatementCount() + " " + stats.topFingerprints(REPORTED_FINGERPRINTS);
+    }
+}
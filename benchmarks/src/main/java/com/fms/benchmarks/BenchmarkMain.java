@@ -0,0 +1,26 @@
+package com.fms.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ponto de entrada do benchmarks.jar: repassa os argumentos ao JMH e, se nenhum formato de resultado for informado,
+ * grava os resultados em JSON ({@code -rf json -rff jmh-result.json}) para comparação entre versões.
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>(List.of(args));
+
+        if (!arguments.contains("-rf")) {
+            arguments.addAll(List.of("-rf", "json"));
+            if (!arguments.contains("-rff")) {
+                arguments.addAll(List.of("-rff", "jmh-result.json"));
+            }
+        }
+
+        Main.main(arguments.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,128 @@
+package com.fms.benchmarks;
+
+import com.fms.backend.mappers.CategoryNameMapper;
+import com.fms.backend.models.Category;
+import com.fms.backend.models.Product;
+import com.fms.backend.models.Sale;
+import com.fms.backend.models.SaleItem;
+import com.fms.backend.models.enums.SaleChannel;
+import com.fms.backend.repositories.CategoryRepository;
+import com.fms.backend.services.CategoryService;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Grafos de entidades parecidos com os da aplicação (categorias, produtos, vendas com itens) e a ligação
+ * manual dos mappers do MapStruct, que no backend são injetados pelo Spring.
+ */
+final class Fixtures {
+
+    static final int CATEGORIES = 12;
+
+    private Fixtures() {
+    }
+
+    /**
+     * CategoryNameMapper com o dicionário de categorias já carregado, como após o warm-up da aplicação.
+     */
+    static CategoryNameMapper categoryNameMapper() {
+        List<Object[]> names = new ArrayList<>();
+        for (long id = 1; id <= CATEGORIES; id++) {
+            names.add(new Object[]{id, "Categoria " + id});
+        }
+
+        CategoryRepository repository = (CategoryRepository) Proxy.newProxyInstance(
+                CategoryRepository.class.getClassLoader(),
+                new Class<?>[]{CategoryRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findAllNames")) {
+                        return names;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        CategoryService categoryService = new CategoryService(repository, null, event -> {
+        });
+        categoryService.warmUp();
+        return new CategoryNameMapper(categoryService);
+    }
+
+    /**
+     * Injeta o CategoryNameMapper no campo {@code @Autowired} gerado pelo MapStruct.
+     */
+    static <T> T withCategoryNameMapper(T mapper, CategoryNameMapper categoryNameMapper) {
+        try {
+            Field field = mapper.getClass().getDeclaredField("categoryNameMapper");
+            field.setAccessible(true);
+            field.set(mapper, categoryNameMapper);
+            return mapper;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        Instant now = Instant.now();
+
+        for (int i = 1; i <= count; i++) {
+            Category category = new Category();
+            category.setId((long) (i % CATEGORIES + 1));
+
+            Product product = new Product();
+            product.setId((long) i);
+            product.setName("Bolsa de couro modelo " + i);
+            product.setDescription("Bolsa de couro legítimo com alça ajustável, forro interno e bolso com zíper. Lote " + i);
+            product.setColor(i % 2 == 0 ? "Preto" : "Caramelo");
+            product.setPrice(new BigDecimal("149.90").add(BigDecimal.valueOf(i % 50)));
+            product.setQuantityStock(100 + i);
+            product.setCategory(category);
+            product.setCreatedAt(now);
+            product.setUpdatedAt(now);
+            products.add(product);
+        }
+        return products;
+    }
+
+    static List<Sale> sales(int count, int itemsPerSale, List<Product> products) {
+        List<Sale> sales = new ArrayList<>(count);
+        Instant now = Instant.now();
+        SaleChannel[] channels = SaleChannel.values();
+
+        for (int i = 1; i <= count; i++) {
+            Sale sale = new Sale();
+            sale.setId((long) i);
+            sale.setClient("Cliente " + i);
+            sale.setSaleDate(now.minusSeconds(i * 3600L));
+            sale.setSaleChannel(channels[i % channels.length]);
+
+            List<SaleItem> items = new ArrayList<>(itemsPerSale);
+            BigDecimal total = BigDecimal.ZERO;
+            for (int j = 0; j < itemsPerSale; j++) {
+                Product product = products.get((i * itemsPerSale + j) % products.size());
+                int quantity = j % 3 + 1;
+
+                SaleItem item = new SaleItem();
+                item.setId((long) i * itemsPerSale + j);
+                item.setSale(sale);
+                item.setProduct(product);
+                item.setCategoryId(product.getCategory().getId());
+                item.setQuantity(quantity);
+                item.setUnitAtPrice(product.getPrice());
+                item.setSubTotal(product.getPrice().multiply(BigDecimal.valueOf(quantity)));
+                total = total.add(item.getSubTotal());
+                items.add(item);
+            }
+
+            sale.setItems(items);
+            sale.setTotalValue(total);
+            sales.add(sale);
+        }
+        return sales;
+    }
+}
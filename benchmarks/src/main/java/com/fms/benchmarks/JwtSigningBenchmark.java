@@ -0,0 +1,80 @@
+package com.fms.benchmarks;
+
+import com.fms.backend.dto.auth.TokenAccessResponseDTO;
+import com.fms.backend.services.auth.CachingJwtDecoder;
+import com.fms.backend.services.auth.TokenGeneratorService;
+import com.fms.backend.utils.KeyUtils;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de emitir (login/refresh) e verificar (cada requisição autenticada) um access token,
+ * comparando RS256 (RSA 2048) com ES256 (EC P-256), com e sem o cache de tokens verificados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtSigningBenchmark {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    @Param({"RS256", "ES256"})
+    private String algorithm;
+
+    private TokenGeneratorService tokenGeneratorService;
+    private JwtDecoder jwtDecoder;
+    private JwtDecoder cachingJwtDecoder;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.from(algorithm);
+
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(KeyUtils.keyAlgorithmFor(signatureAlgorithm));
+        if (signatureAlgorithm == SignatureAlgorithm.ES256) {
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+        } else {
+            generator.initialize(2048);
+        }
+        KeyPair keyPair = generator.generateKeyPair();
+
+        JWK signingKey = KeyUtils.toSigningJwk(keyPair.getPublic(), keyPair.getPrivate(), signatureAlgorithm);
+        var jwtEncoder = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(signingKey)));
+
+        tokenGeneratorService = new TokenGeneratorService(jwtEncoder, signatureAlgorithm, 15);
+        jwtDecoder = KeyUtils.toJwtDecoder(signingKey, signatureAlgorithm);
+        cachingJwtDecoder = new CachingJwtDecoder(jwtDecoder, 1000);
+        token = sign().accessToken();
+    }
+
+    @Benchmark
+    public TokenAccessResponseDTO sign() {
+        return tokenGeneratorService.generateAccessToken(USER_ID, "benchmark@luxeloom.com", "ADMIN BASIC");
+    }
+
+    @Benchmark
+    public Jwt verify() {
+        return jwtDecoder.decode(token);
+    }
+
+    // Mesmo token repetido, como em uma sessão do dashboard: só a primeira chamada verifica a assinatura.
+    @Benchmark
+    public Jwt verifyCached() {
+        return cachingJwtDecoder.decode(token);
+    }
+}
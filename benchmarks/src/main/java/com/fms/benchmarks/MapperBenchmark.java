@@ -0,0 +1,67 @@
+package com.fms.benchmarks;
+
+import com.fms.backend.dto.ProductResponseDTO;
+import com.fms.backend.dto.SaleResponseDTO;
+import com.fms.backend.mappers.CategoryNameMapper;
+import com.fms.backend.mappers.ProductMapper;
+import com.fms.backend.mappers.ProductMapperImpl;
+import com.fms.backend.mappers.SaleMapper;
+import com.fms.backend.mappers.SaleMapperImpl;
+import com.fms.backend.models.Product;
+import com.fms.backend.models.Sale;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão entidade -> DTO feita em toda listagem: uma página de vendas com itens (nome da categoria
+ * resolvido pelo dicionário em memória) e uma página de produtos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"20"})
+    private int pageSize;
+
+    @Param({"3", "10"})
+    private int itemsPerSale;
+
+    private SaleMapper saleMapper;
+    private ProductMapper productMapper;
+
+    private Sale sale;
+    private List<Sale> sales;
+    private List<Product> products;
+
+    @Setup
+    public void setUp() {
+        CategoryNameMapper categoryNameMapper = Fixtures.categoryNameMapper();
+        saleMapper = Fixtures.withCategoryNameMapper(new SaleMapperImpl(), categoryNameMapper);
+        productMapper = Fixtures.withCategoryNameMapper(new ProductMapperImpl(), categoryNameMapper);
+
+        products = Fixtures.products(pageSize);
+        sales = Fixtures.sales(pageSize, itemsPerSale, Fixtures.products(200));
+        sale = sales.get(0);
+    }
+
+    @Benchmark
+    public SaleResponseDTO saleToDTO() {
+        return saleMapper.toDTO(sale);
+    }
+
+    @Benchmark
+    public List<SaleResponseDTO> salePageToDTOList() {
+        return saleMapper.toDTOList(sales);
+    }
+
+    @Benchmark
+    public List<ProductResponseDTO> productPageToDTOList() {
+        return productMapper.toDTOList(products);
+    }
+}
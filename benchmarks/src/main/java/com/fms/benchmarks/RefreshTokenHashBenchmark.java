@@ -0,0 +1,57 @@
+package com.fms.benchmarks;
+
+import com.fms.backend.services.auth.RefreshTokenHasher;
+import com.fms.backend.services.auth.TokenGeneratorService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU do hash do segredo em cada refresh: confere o segredo recebido e gera o hash do novo.
+ * Compara o BCrypt anterior (força padrão 10) com o HMAC-SHA256 do {@link RefreshTokenHasher}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RefreshTokenHashBenchmark {
+
+    private BCryptPasswordEncoder bcrypt;
+    private RefreshTokenHasher hasher;
+
+    private String rawSecret;
+    private String bcryptHash;
+    private String hmacHash;
+
+    @Setup
+    public void setUp() {
+        bcrypt = new BCryptPasswordEncoder();
+        hasher = new RefreshTokenHasher("benchmark-refresh-token-hash-key-0123456789", bcrypt);
+
+        // Mesmo formato do segredo gerado no login.
+        rawSecret = new TokenGeneratorService(null, SignatureAlgorithm.RS256, 15)
+                .generateRefreshToken();
+        bcryptHash = bcrypt.encode(rawSecret);
+        hmacHash = hasher.hash(rawSecret);
+    }
+
+    @Benchmark
+    public String bcryptRefresh() {
+        if (!bcrypt.matches(rawSecret, bcryptHash)) {
+            throw new IllegalStateException();
+        }
+        return bcrypt.encode(rawSecret);
+    }
+
+    @Benchmark
+    public String hmacSha256Refresh() {
+        if (!hasher.matches(rawSecret, hmacHash)) {
+            throw new IllegalStateException();
+        }
+        return hasher.hash(rawSecret);
+    }
+}
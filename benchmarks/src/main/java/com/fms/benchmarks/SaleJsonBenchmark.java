@@ -0,0 +1,52 @@
+package com.fms.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fms.backend.dto.SaleResponseDTO;
+import com.fms.backend.mappers.SaleMapper;
+import com.fms.backend.mappers.SaleMapperImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização da resposta de {@code GET /api/sale}: uma página de {@link SaleResponseDTO} no formato
+ * {@code VIA_DTO} (PagedModel), com o ObjectMapper configurado como o do Spring Boot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SaleJsonBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    @Param({"3"})
+    private int itemsPerSale;
+
+    private ObjectMapper objectMapper;
+    private PagedModel<SaleResponseDTO> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        SaleMapper saleMapper = Fixtures.withCategoryNameMapper(new SaleMapperImpl(), Fixtures.categoryNameMapper());
+        var content = saleMapper.toDTOList(Fixtures.sales(pageSize, itemsPerSale, Fixtures.products(200)));
+        page = new PagedModel<>(new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000));
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,81 @@
+package com.fms.benchmarks;
+
+import com.fms.backend.dto.SaleItemRequestDTO;
+import com.fms.backend.dto.SaleRequestDTO;
+import com.fms.backend.mappers.SaleMapper;
+import com.fms.backend.mappers.SaleMapperImpl;
+import com.fms.backend.models.Product;
+import com.fms.backend.models.Sale;
+import com.fms.backend.models.SaleItem;
+import com.fms.backend.models.enums.SaleChannel;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Montagem da venda em {@code registerSale}: itens, subtotais (preço x quantidade) e total em BigDecimal.
+ * A venda e os itens vêm do {@link SaleMapper} da aplicação; preços e totais são calculados como em
+ * {@code SaleService.buildSale} (privado), que deve ser mantido em sincronia com {@link #buildSale()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SaleTotalsBenchmark {
+
+    @Param({"1", "5", "20"})
+    private int items;
+
+    private SaleMapper saleMapper;
+    private SaleRequestDTO request;
+    private Map<Long, Product> products;
+
+    @Setup
+    public void setUp() {
+        // toEntity não usa o dicionário de categorias.
+        saleMapper = new SaleMapperImpl();
+
+        List<Product> catalog = Fixtures.products(items);
+        products = catalog.stream().collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<SaleItemRequestDTO> requestItems = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            requestItems.add(new SaleItemRequestDTO(catalog.get(i).getId(), i % 3 + 1));
+        }
+        request = new SaleRequestDTO("Cliente", SaleChannel.LOCAL, requestItems);
+        request.setSaleDate(Instant.now());
+    }
+
+    @Benchmark
+    public Sale buildSale() {
+        Sale sale = saleMapper.toEntity(request);
+        List<SaleItem> saleItems = sale.getItems();
+        BigDecimal totalSaleAmount = BigDecimal.ZERO;
+
+        for (int i = 0; i < saleItems.size(); i++) {
+            SaleItem saleItem = saleItems.get(i);
+            Product product = products.get(request.getItems().get(i).getProductId());
+
+            saleItem.setSale(sale);
+            saleItem.setProduct(product);
+            saleItem.setCategoryId(product.getCategory().getId());
+            saleItem.setUnitAtPrice(product.getPrice());
+
+            BigDecimal subTotal = product.getPrice().multiply(new BigDecimal(saleItem.getQuantity()));
+            saleItem.setSubTotal(subTotal);
+            totalSaleAmount = totalSaleAmount.add(subTotal);
+        }
+
+        sale.setTotalValue(totalSaleAmount);
+        return sale;
+    }
+}
@@ -11,6 +11,21 @@ export async function findAllProducts(page = 0, size = 10) {
     return await res.json();
 }
 
+export async function searchProducts(query, page = 0, size = 10, filters = {}) {
+    const params = new URLSearchParams({ q: query, page, size });
+
+    if (filters.categoryId) params.append("categoryId", filters.categoryId);
+    if (filters.minPrice != null) params.append("minPrice", filters.minPrice);
+    if (filters.maxPrice != null) params.append("maxPrice", filters.maxPrice);
+    if (filters.inStock) params.append("inStock", true);
+
+    const res = await authFetch(`${PRODUCT_API}/search?${params.toString()}`);
+    if (!res.ok) {
+        throw new Error(`Erro ao buscar produtos: ${res.status}`);
+    }
+    return await res.json();
+}
+
 export async function createProduct(productData) {
     const res = await authFetch(PRODUCT_API, {
         method: 'POST',
@@ -7,6 +7,7 @@ export async function findAllSales(page = 0, size = 10, filters = {}) {
     const params = new URLSearchParams({ page, size });
 
     if (filters.clientName) params.append("clientName", filters.clientName);
+    if (filters.clientName && filters.clientMatch) params.append("clientMatch", filters.clientMatch);
     if (filters.categoryId) params.append("categoryId", filters.categoryId);
 
     const res = await authFetch(`${BASE_URL}/api/sale?${params.toString()}`);
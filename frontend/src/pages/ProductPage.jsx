@@ -1,6 +1,7 @@
 import React, { useState, useEffect } from "react"
 import {
   findAllProducts,
+  searchProducts,
   createProduct,
   updateProduct,
   deleteProduct,
@@ -52,17 +53,21 @@ export default function ProductsPage() {
   const [priceText, setPriceText] = useState(formatBRL(0))
 
   const [error, setError] = useState(null)
+  const [searchQuery, setSearchQuery] = useState("")
 
   useEffect(() => {
     fetchData()
-  }, [currentPage])
+  }, [searchQuery, currentPage])
 
   async function fetchData() {
     setLoading(true)
     setError(null)
     try {
       // o currentPage do front começa em 1, então subtrai 1
-      const data = await findAllProducts(currentPage - 1, pageSize)
+      const query = searchQuery.trim()
+      const data = query
+        ? await searchProducts(query, currentPage - 1, pageSize)
+        : await findAllProducts(currentPage - 1, pageSize)
 
       if (data.content) {
         setProducts(data.content)
@@ -195,6 +200,18 @@ export default function ProductsPage() {
 
       {error && <p style={styles.error}>{error}</p>}
 
+      <div style={styles.filtersContainer}>
+        <input
+          style={styles.inputFilter}
+          placeholder="Buscar por nome, categoria, cor ou descrição..."
+          value={searchQuery}
+          onChange={(e) => {
+            setSearchQuery(e.target.value)
+            setCurrentPage(1)
+          }}
+        />
+      </div>
+
       {loading ? (
         <p style={{ color: "#ccc", textAlign: "center", marginTop: "40px" }}>
           Carregando produtos e categorias...
@@ -427,6 +444,26 @@ const styles = {
   },
 
   // Estilos da Tabela
+  filtersContainer: {
+    display: "flex",
+    gap: 20,
+    marginBottom: 30,
+    padding: "15px 20px",
+    background: "rgba(255,255,255,0.05)",
+    borderRadius: 12,
+    border: "1px solid rgba(255,255,255,0.1)",
+  },
+  inputFilter: {
+    padding: "10px 12px",
+    borderRadius: 8,
+    border: "1px solid rgba(255,255,255,0.15)",
+    background: "rgba(255,255,255,0.05)",
+    color: "#fff",
+    fontSize: 14,
+    outline: "none",
+    flex: 1,
+    boxSizing: "border-box",
+  },
   tableContainer: {
     overflowX: "auto",
     background: "rgba(255,255,255,0.04)",
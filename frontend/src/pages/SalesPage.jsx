@@ -47,10 +47,11 @@ export default function SalesPage() {
   // Estados de Filtro
   const [filterClientName, setFilterClientName] = useState("")
   const [filterCategoryId, setFilterCategoryId] = useState("")
+  const [filterClientMatch, setFilterClientMatch] = useState("CONTAINS")
 
   useEffect(() => {
     fetchData()
-  }, [filterClientName, filterCategoryId, currentPage])
+  }, [filterClientName, filterClientMatch, filterCategoryId, currentPage])
 
   async function fetchCategoriesForFilters() {
     try {
@@ -74,7 +75,10 @@ export default function SalesPage() {
     setError(null)
     try {
       const filters = {}
-      if (filterClientName) filters.clientName = filterClientName
+      if (filterClientName) {
+        filters.clientName = filterClientName
+        filters.clientMatch = filterClientMatch
+      }
       if (filterCategoryId) filters.categoryId = filterCategoryId
 
       const data = await findAllSales(currentPage - 1, pageSize, filters)
@@ -254,6 +258,15 @@ export default function SalesPage() {
           value={filterClientName}
           onChange={(e) => setFilterClientName(e.target.value)}
         />
+        <select
+          style={styles.selectDarkFilter}
+          value={filterClientMatch}
+          onChange={(e) => setFilterClientMatch(e.target.value)}
+        >
+          <option value="CONTAINS">Contém</option>
+          <option value="PREFIX">Começa com</option>
+          <option value="EXACT">Exato</option>
+        </select>
         <select
           style={styles.selectDarkFilter}
           value={filterCategoryId}